@@ -0,0 +1,189 @@
+package com.akash_adak.backend_engine.benchmark;
+
+import com.akash_adak.backend_engine.config.JwtAuthenticationFilter;
+import com.akash_adak.backend_engine.config.VerifiedTokenCache;
+import com.akash_adak.backend_engine.service.RateLimitResult;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request admission cost on {@code /data/**}: JWT verification and user
+ * lookup in {@link JwtAuthenticationFilter}, then tier resolution, quota and
+ * bucket consumption, hit counting and header building in the rate-limit
+ * interceptor.
+ * <p>
+ * Accepted and rejected requests are measured separately. The accepted
+ * benchmarks run over a fixture whose bucket and quota never run dry, so
+ * every call takes a token, counts the hit and builds the
+ * {@code X-Rate-Limit-Remaining} and {@code X-Total-Hits} headers. The
+ * {@code *Rejected} benchmarks use the real tier limits with the picked keys
+ * drained during setup; a rejected interceptor call stops at the quota check
+ * and never reaches the bucket.
+ * <p>
+ * The {@code consume*} variants differ only in thread count, to show how the
+ * bucket store scales with cores. With {@code keys=shared} every thread
+ * hammers one API key; with {@code keys=spread} threads pick from all users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AdmissionBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"shared", "spread"})
+    public String keys;
+
+    private AdmissionFixture fixture;
+    private AdmissionFixture limited;
+    private VerifiedTokenCache tokenCache;
+    private JwtAuthenticationFilter jwtFilter;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        fixture = new AdmissionFixture(USERS, true);
+        limited = new AdmissionFixture(USERS, false);
+        drainLimited();
+        tokenCache = new VerifiedTokenCache(fixture.jwtUtil, fixture.userRepository, 100_000, Duration.ofSeconds(30));
+        jwtFilter = new JwtAuthenticationFilter(tokenCache);
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) tokens[i] = fixture.jwtUtil.generateToken(fixture.users.get(i).getEmail());
+        // Warm the caches so the cached variants measure hits, not the first verification of each token.
+        for (String token : tokens) tokenCache.user(tokenCache.verify(token));
+    }
+
+    /**
+     * Spends the quota for {@code books} and then the daily bucket of every key
+     * {@link #pick()} can return, so the rejected benchmarks never admit a request.
+     * Refill during a run gives back at most a few tokens per key.
+     */
+    private void drainLimited() {
+        int count = "shared".equals(keys) ? 1 : USERS;
+        for (int i = 0; i < count; i++) {
+            String apiKey = "key-" + i;
+            while (limited.interceptor.preHandle(request(apiKey), new MockHttpServletResponse(), null)) {
+                // each call spends one quota slot and one token
+            }
+            while (limited.rateLimiterService.tryConsume(apiKey).isConsumed()) {
+                // drain whatever the quota left in the bucket
+            }
+        }
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/data/books");
+        request.addHeader("X-API-KEY", apiKey);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("apiName", "books"));
+        return request;
+    }
+
+    /** Picks the API key or user index for one request according to {@link #keys}. */
+    private int pick() {
+        return "shared".equals(keys) ? 0 : ThreadLocalRandom.current().nextInt(USERS);
+    }
+
+    /** Uncached path: HMAC check on every call. */
+    @Benchmark
+    public String extractEmailUncached() {
+        return fixture.jwtUtil.extractEmail(tokens[pick()]);
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return tokenCache.verify(tokens[pick()]);
+    }
+
+    /** The filter as deployed, with the verified-token and user caches warm after the first pass. */
+    @Benchmark
+    public Object jwtFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/data/books");
+        request.addHeader("Authorization", "Bearer " + tokens[pick()]);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** Accepted: every call takes a token from a bucket that never runs dry. */
+    @Benchmark
+    @Threads(1)
+    public RateLimitResult consume1() {
+        return fixture.rateLimiterService.tryConsume("key-" + pick());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public RateLimitResult consume4() {
+        return fixture.rateLimiterService.tryConsume("key-" + pick());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public RateLimitResult consume16() {
+        return fixture.rateLimiterService.tryConsume("key-" + pick());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public RateLimitResult consume64() {
+        return fixture.rateLimiterService.tryConsume("key-" + pick());
+    }
+
+    /** Rejected: the bucket is empty, so the CAS finds no token to take. */
+    @Benchmark
+    public RateLimitResult consumeRejected() {
+        return limited.rateLimiterService.tryConsume("key-" + pick());
+    }
+
+    /** Accepted request through the whole interceptor, including hit counting and both response headers. */
+    @Benchmark
+    public MockHttpServletResponse interceptorAccepted() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fixture.interceptor.preHandle(request("key-" + pick()), response, null);
+        return response;
+    }
+
+    /** Rejected request: tier lookup, then a 429 from the exhausted per-API quota. */
+    @Benchmark
+    public MockHttpServletResponse interceptorRejected() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        limited.interceptor.preHandle(request("key-" + pick()), response, null);
+        return response;
+    }
+
+    /** Baseline for the interceptor benchmarks: building the mock request and response alone. */
+    @Benchmark
+    public MockHttpServletResponse interceptorBaseline(Blackhole blackhole) {
+        blackhole.consume(request("key-" + pick()));
+        return new MockHttpServletResponse();
+    }
+}
@@ -0,0 +1,110 @@
+package com.akash_adak.backend_engine.benchmark;
+
+import com.akash_adak.backend_engine.config.JwtUtil;
+import com.akash_adak.backend_engine.config.RateLimitingInterceptor;
+import com.akash_adak.backend_engine.model.User;
+import com.akash_adak.backend_engine.model.UserPlan;
+import com.akash_adak.backend_engine.repository.UserPlanRepository;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import com.akash_adak.backend_engine.service.ApiKeyFilter;
+import com.akash_adak.backend_engine.service.HitCounterService;
+import com.akash_adak.backend_engine.service.LocalRateLimitStore;
+import com.akash_adak.backend_engine.service.QuotaService;
+import com.akash_adak.backend_engine.service.RateLimiterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wires the request-admission components by hand, the way Spring would, over
+ * in-memory repositories: {@code users} accounts split across the three tiers.
+ * With {@code unlimited} set, the bucket and quota limits are raised far above
+ * what a benchmark run can spend, so every request takes the accepted path;
+ * otherwise the real {@code PlanTier} limits apply.
+ */
+final class AdmissionFixture {
+
+    private static final String[] TIERS = {"free", "premium", "enterprise"};
+
+    final List<User> users = new ArrayList<>();
+    final UserRepository userRepository;
+    final JwtUtil jwtUtil;
+    final RateLimiterService rateLimiterService;
+    final RateLimitingInterceptor interceptor;
+
+    /** Bucket capacity and per-API quota for the unlimited fixture; a run makes well under 2^31 calls. */
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    AdmissionFixture(int userCount, boolean unlimited) {
+        List<UserPlan> plans = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setEmail("user" + i + "@example.com");
+            user.setApikey("key-" + i);
+            user.setTier(TIERS[i % TIERS.length].toUpperCase(Locale.ROOT));
+            users.add(user);
+
+            // Every other key has an explicit plan; the rest fall back to User.tier.
+            if (i % 2 == 0) {
+                UserPlan plan = new UserPlan();
+                plan.setApiKey(user.getApikey());
+                plan.setTier(TIERS[i % TIERS.length]);
+                plans.add(plan);
+            }
+        }
+        userRepository = InMemoryRepositories.users(users);
+        UserPlanRepository planRepository = InMemoryRepositories.plans(plans);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = jwtUtil();
+        ApiKeyFilter apiKeyFilter = new ApiKeyFilter(userRepository, planRepository, userCount, 0.001);
+        apiKeyFilter.rebuild();
+        LocalRateLimitStore store = unlimited
+                ? new LocalRateLimitStore(1_000_000, Duration.ofMinutes(10), meterRegistry) {
+                    @Override
+                    protected long capacity(String tier) {
+                        return UNLIMITED;
+                    }
+                }
+                : new LocalRateLimitStore(1_000_000, Duration.ofMinutes(10), meterRegistry);
+        rateLimiterService = new RateLimiterService(planRepository, userRepository, apiKeyFilter, store, 60_000, 1_000_000);
+        // The usage flush is scheduled by Spring and never runs here, so no JdbcTemplate is needed.
+        HitCounterService hitCounterService = new HitCounterService(null, userRepository, meterRegistry, 1_000_000);
+        QuotaService quotaService = unlimited
+                ? new QuotaService(Duration.ofHours(1), 12, 1_000_000, meterRegistry) {
+                    @Override
+                    protected int limitFor(String tier) {
+                        return UNLIMITED;
+                    }
+                }
+                : new QuotaService(Duration.ofHours(1), 12, 1_000_000, meterRegistry);
+        interceptor = new RateLimitingInterceptor(rateLimiterService, hitCounterService, quotaService);
+    }
+
+    private static JwtUtil jwtUtil() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        JwtUtil util = new JwtUtil();
+        set(util, "SECRET_KEY", Base64.getEncoder().encodeToString(secret));
+        set(util, "EXPIRATION", Duration.ofDays(1).toMillis());
+        return util;
+    }
+
+    private static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.akash_adak.backend_engine.benchmark;
+
+import com.akash_adak.backend_engine.model.User;
+import com.akash_adak.backend_engine.model.UserPlan;
+import com.akash_adak.backend_engine.repository.UserPlanRepository;
+import com.akash_adak.backend_engine.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-ins for the JPA repositories the admission path reads,
+ * so benchmarks measure our code rather than MySQL. Only the finder methods
+ * that path calls are answered; anything else throws.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static UserRepository users(Collection<User> users) {
+        Map<String, User> byEmail = new HashMap<>();
+        Map<String, User> byApikey = new HashMap<>();
+        for (User user : users) {
+            byEmail.put(user.getEmail(), user);
+            byApikey.put(user.getApikey(), user);
+        }
+        Map<String, Function<Object, Object>> finders = new HashMap<>();
+        finders.put("findByEmail", email -> Optional.ofNullable(byEmail.get(email)));
+        finders.put("findByApikey", apikey -> Optional.ofNullable(byApikey.get(apikey)));
+        finders.put("findAllApikeys", none -> new ArrayList<>(byApikey.keySet()));
+        return stub(UserRepository.class, finders);
+    }
+
+    static UserPlanRepository plans(Collection<UserPlan> plans) {
+        Map<String, UserPlan> byApiKey = new HashMap<>();
+        for (UserPlan plan : plans) byApiKey.put(plan.getApiKey(), plan);
+        Map<String, Function<Object, Object>> finders = new HashMap<>();
+        finders.put("findById", apiKey -> Optional.ofNullable(byApiKey.get(apiKey)));
+        finders.put("findAllApiKeys", none -> new ArrayList<>(byApiKey.keySet()));
+        return stub(UserPlanRepository.class, finders);
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Function<Object, Object>> finders) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object, Object> finder = finders.get(method.getName());
+            if (finder != null && args == null) return finder.apply(null);
+            if (finder != null && args.length == 1) return finder.apply(args[0]);
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemory" + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+        });
+        return type.cast(proxy);
+    }
+}
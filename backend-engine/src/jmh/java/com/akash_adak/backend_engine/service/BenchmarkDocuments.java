@@ -0,0 +1,104 @@
+package com.akash_adak.backend_engine.service;
+
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic API schemas and matching documents, shaped like what tenants store:
+ * flat scalars, one nested object and one array. Sizes are by top-level field count.
+ */
+final class BenchmarkDocuments {
+
+    private BenchmarkDocuments() {
+    }
+
+    static int fieldCount(String size) {
+        switch (size) {
+            case "small":
+                return 8;
+            case "medium":
+                return 40;
+            default: // large
+                return 200;
+        }
+    }
+
+    static String schemaJson(int fields) {
+        StringBuilder props = new StringBuilder();
+        StringBuilder required = new StringBuilder();
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) props.append(',');
+            props.append('"').append(name(i)).append("\":{\"type\":\"").append(type(i)).append('"');
+            if (i % 4 == 1) props.append(",\"minimum\":0");
+            if (i % 4 == 0) props.append(",\"maxLength\":256");
+            props.append('}');
+            if (i % 3 == 0) {
+                if (required.length() > 0) required.append(',');
+                required.append('"').append(name(i)).append('"');
+            }
+        }
+        props.append(",\"address\":{\"type\":\"object\",\"properties\":{")
+                .append("\"street\":{\"type\":\"string\"},\"city\":{\"type\":\"string\"},\"zip\":{\"type\":\"string\"}},")
+                .append("\"required\":[\"city\"]}");
+        props.append(",\"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\"}}");
+        return "{\"$schema\":\"http://json-schema.org/draft-07/schema#\",\"type\":\"object\",\"properties\":{"
+                + props + "},\"required\":[" + required + "]}";
+    }
+
+    static Map<String, Object> document(int fields) {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        for (int i = 0; i < fields; i++) {
+            switch (type(i)) {
+                case "string":
+                    doc.put(name(i), "value-" + i + "-lorem-ipsum-dolor");
+                    break;
+                case "integer":
+                    doc.put(name(i), i * 37);
+                    break;
+                case "number":
+                    doc.put(name(i), i * 1.5);
+                    break;
+                default: // boolean
+                    doc.put(name(i), i % 2 == 0);
+            }
+        }
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", "221B Baker Street");
+        address.put("city", "London");
+        address.put("zip", "NW1 6XE");
+        doc.put("address", address);
+        List<Object> tags = new ArrayList<>();
+        for (int i = 0; i < 5; i++) tags.add("tag" + i);
+        doc.put("tags", tags);
+        return doc;
+    }
+
+    /** A document as the Mongo driver returns it, with an {@link ObjectId} key. */
+    static Map<String, Object> storedDocument(int fields) {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("_id", new ObjectId());
+        doc.putAll(document(fields));
+        return doc;
+    }
+
+    private static String name(int i) {
+        return "field" + i;
+    }
+
+    private static String type(int i) {
+        switch (i % 4) {
+            case 0:
+                return "string";
+            case 1:
+                return "integer";
+            case 2:
+                return "number";
+            default:
+                return "boolean";
+        }
+    }
+}
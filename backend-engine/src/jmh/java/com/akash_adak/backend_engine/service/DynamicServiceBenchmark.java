@@ -0,0 +1,95 @@
+package com.akash_adak.backend_engine.service;
+
+import org.bson.types.ObjectId;
+import org.everit.json.schema.Schema;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-bound steps of a dynamic CRUD request, measured without Spring,
+ * MySQL or Mongo: compiling an API schema, converting the payload to a
+ * {@link JSONObject}, validating it, and normalizing documents and ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DynamicServiceBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private String schemaJson;
+    private Schema validator;
+    private Map<String, Object> payload;
+    private Map<String, Object> stored;
+    private String hexId;
+    private String plainId;
+
+    @Setup
+    public void setUp() {
+        int fields = BenchmarkDocuments.fieldCount(size);
+        schemaJson = BenchmarkDocuments.schemaJson(fields);
+        validator = SchemaRegistry.loadValidator(schemaJson);
+        payload = BenchmarkDocuments.document(fields);
+        stored = BenchmarkDocuments.storedDocument(fields);
+        hexId = new ObjectId().toHexString();
+        plainId = "customer-42";
+
+        // Fail fast if the generated document does not satisfy its own schema.
+        DynamicService.validateAgainstJsonSchema(validator, payload);
+    }
+
+    @Benchmark
+    public Schema schemaLoadAndCompile() {
+        return SchemaRegistry.loadValidator(schemaJson);
+    }
+
+    @Benchmark
+    public JSONObject payloadToJsonObject() {
+        return new JSONObject(payload);
+    }
+
+    @Benchmark
+    public Map<String, Object> validateAgainstJsonSchema() {
+        DynamicService.validateAgainstJsonSchema(validator, payload);
+        return payload;
+    }
+
+    /** Baseline for {@link #normalizeDocument()}: the copy that stands in for a fresh driver result. */
+    @Benchmark
+    public Map<String, Object> copyDocument() {
+        return new LinkedHashMap<>(stored);
+    }
+
+    @Benchmark
+    public Map<String, Object> normalizeDocument() {
+        return DynamicService.normalizeDocument(new LinkedHashMap<>(stored));
+    }
+
+    @Benchmark
+    public Object convertIdIfNeededObjectId() {
+        return DynamicService.convertIdIfNeeded(hexId);
+    }
+
+    @Benchmark
+    public Object convertIdIfNeededPlainString() {
+        return DynamicService.convertIdIfNeeded(plainId);
+    }
+}
@@ -3,13 +3,16 @@ package com.akash_adak.backend_engine;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @EnableAsync
-//@EnableCaching
+@EnableScheduling
+@EnableCaching
 @SpringBootApplication
 public class BackendEngineApplication  {
 
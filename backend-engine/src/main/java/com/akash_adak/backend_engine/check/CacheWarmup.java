@@ -0,0 +1,153 @@
+package com.akash_adak.backend_engine.check;
+
+import com.akash_adak.backend_engine.service.RateLimiterService;
+import com.akash_adak.backend_engine.service.SchemaRegistry;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the schemas and plans that saw traffic in the last day before the
+ * pod reports ready, so a restarted replica does not meet its first requests
+ * with cold caches. Spring only marks the app ready once runners finish, and
+ * this bean is also the {@code warmup} health indicator (part of the readiness
+ * group), which reports progress while it runs.
+ */
+@Component("warmup")
+@Order(1)
+public class CacheWarmup implements ApplicationRunner, HealthIndicator {
+
+    enum Phase { PENDING, SCHEMAS, PLANS, DONE }
+
+    private final MongoTemplate mongoTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final SchemaRegistry schemaRegistry;
+    private final RateLimiterService rateLimiterService;
+    private final boolean enabled;
+    private final int topSchemas;
+    private final int topPlans;
+    private final Duration timeout;
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile int schemasTotal;
+    private volatile int plansTotal;
+    private final AtomicInteger schemasLoaded = new AtomicInteger();
+    private final AtomicInteger plansLoaded = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long tookMs;
+
+    public CacheWarmup(MongoTemplate mongoTemplate,
+                       JdbcTemplate jdbcTemplate,
+                       SchemaRegistry schemaRegistry,
+                       RateLimiterService rateLimiterService,
+                       @Value("${app.warmup.enabled:true}") boolean enabled,
+                       @Value("${app.warmup.top-schemas:200}") int topSchemas,
+                       @Value("${app.warmup.top-plans:5000}") int topPlans,
+                       @Value("${app.warmup.timeout:PT60S}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.schemaRegistry = schemaRegistry;
+        this.rateLimiterService = rateLimiterService;
+        this.enabled = enabled;
+        this.topSchemas = topSchemas;
+        this.topPlans = topPlans;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout.toMillis();
+        try {
+            if (enabled) {
+                phase = Phase.SCHEMAS;
+                List<String> apis = hotApiNames();
+                schemasTotal = apis.size();
+                for (String api : apis) {
+                    if (System.currentTimeMillis() > deadline) break;
+                    try {
+                        schemaRegistry.resolve(api);
+                        schemasLoaded.incrementAndGet();
+                    } catch (Exception e) {
+                        failures.incrementAndGet(); // deleted API or broken schema; the request path reports it
+                    }
+                }
+
+                phase = Phase.PLANS;
+                List<String> apiKeys = hotApiKeys();
+                plansTotal = apiKeys.size();
+                for (String apiKey : apiKeys) {
+                    if (System.currentTimeMillis() > deadline) break;
+                    rateLimiterService.tierOf(apiKey);
+                    plansLoaded.incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            System.err.println("⚠️ Cache warm-up stopped early: " + e.getMessage());
+        } finally {
+            tookMs = System.currentTimeMillis() - start;
+            phase = Phase.DONE;
+            System.out.println("🔥 Cache warm-up finished in " + tookMs + " ms: "
+                    + schemasLoaded.get() + "/" + schemasTotal + " schemas, "
+                    + plansLoaded.get() + "/" + plansTotal + " plans");
+        }
+    }
+
+    /** APIs with the most requests since yesterday, from the day rollups. */
+    private List<String> hotApiNames() {
+        Date since = Date.from(Instant.now().truncatedTo(ChronoUnit.DAYS).minus(1, ChronoUnit.DAYS));
+        Query query = Query.query(Criteria.where("granularity").is("day").and("bucket").gte(since))
+                .with(Sort.by(Sort.Direction.DESC, "count"))
+                .limit(topSchemas * 4);
+        query.fields().include("apiName").exclude("_id");
+        Set<String> names = new LinkedHashSet<>();
+        for (Document rollup : mongoTemplate.find(query, Document.class, "usage_rollups")) {
+            names.add(rollup.getString("apiName"));
+            if (names.size() >= topSchemas) break;
+        }
+        return new ArrayList<>(names);
+    }
+
+    /** API keys that made requests in the last day, most recent first. */
+    private List<String> hotApiKeys() {
+        return jdbcTemplate.queryForList(
+                "SELECT u.apikey FROM user_api_usage a JOIN users u ON u.email = a.user_id " +
+                "WHERE a.last_hit >= ? AND u.apikey IS NOT NULL " +
+                "GROUP BY u.apikey ORDER BY MAX(a.last_hit) DESC LIMIT ?",
+                String.class,
+                new Timestamp(System.currentTimeMillis() - Duration.ofDays(1).toMillis()), topPlans);
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = phase == Phase.DONE ? Health.up() : Health.outOfService();
+        health.withDetail("phase", phase.name())
+                .withDetail("schemas", schemasLoaded.get() + "/" + schemasTotal)
+                .withDetail("plans", plansLoaded.get() + "/" + plansTotal);
+        if (failures.get() > 0) health.withDetail("failures", failures.get());
+        if (phase == Phase.DONE) health.withDetail("tookMs", tookMs);
+        return health.build();
+    }
+}
@@ -1,11 +1,16 @@
 package com.akash_adak.backend_engine.check;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.TimeUnit;
-
+/**
+ * Logs whether Redis is reachable at startup. Read-only: it must never write
+ * or flush, because sessions, rate limits and caches in Redis are shared by
+ * every replica and survive our restarts.
+ */
 @Component
 public class RedisHealthCheck implements CommandLineRunner {
 
@@ -18,10 +23,8 @@ public class RedisHealthCheck implements CommandLineRunner {
     @Override
     public void run(String... args) {
         try {
-            redisTemplate.opsForValue().set("health:test", "OK", 10, TimeUnit.SECONDS);
-            String value = redisTemplate.opsForValue().get("health:test");
-            redisTemplate.getConnectionFactory().getConnection().flushAll();
-            System.out.println("✅ Redis connected! Value = " + value);
+            String reply = redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+            System.out.println("✅ Redis connected! PING = " + reply);
         } catch (Exception e) {
             System.err.println("❌ Redis connection failed: " + e.getMessage());
         }
@@ -0,0 +1,111 @@
+package com.akash_adak.backend_engine.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches for the MySQL lookups on the request path. L1 TTLs are short because
+ * another pod's write only clears its own L1; L2 is shared, so it can hold
+ * entries longer and is cleared by every write.
+ */
+@Configuration
+public class CacheConfig implements CachingConfigurer {
+
+    /** L1 size and TTL, L2 TTL. */
+    private static final class Spec {
+        private final long l1MaxSize;
+        private final Duration l1Ttl;
+        private final Duration l2Ttl;
+
+        Spec(long l1MaxSize, Duration l1Ttl, Duration l2Ttl) {
+            this.l1MaxSize = l1MaxSize;
+            this.l1Ttl = l1Ttl;
+            this.l2Ttl = l2Ttl;
+        }
+    }
+
+    private static Map<String, Spec> specs() {
+        Map<String, Spec> specs = new LinkedHashMap<>();
+        specs.put(CacheNames.USERS_BY_EMAIL, new Spec(10_000, Duration.ofSeconds(30), Duration.ofMinutes(10)));
+        specs.put(CacheNames.API_SCHEMAS_BY_NAME, new Spec(10_000, Duration.ofMinutes(1), Duration.ofMinutes(30)));
+        specs.put(CacheNames.API_SCHEMAS_BY_OWNER, new Spec(10_000, Duration.ofSeconds(30), Duration.ofMinutes(10)));
+        specs.put(CacheNames.USER_PLANS, new Spec(100_000, Duration.ofMinutes(1), Duration.ofMinutes(30)));
+        return specs;
+    }
+
+    @Bean
+    public TwoLevelCacheManager twoLevelCacheManager(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        RedisSerializer<Object> serializer = RedisSerializer.java(getClass().getClassLoader());
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+
+        Map<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> l1 = new LinkedHashMap<>();
+        Map<String, RedisCacheConfiguration> l2 = new LinkedHashMap<>();
+        for (Map.Entry<String, Spec> entry : specs().entrySet()) {
+            Spec spec = entry.getValue();
+            l1.put(entry.getKey(), Caffeine.newBuilder()
+                    .maximumSize(spec.l1MaxSize)
+                    .expireAfterWrite(spec.l1Ttl)
+                    .build());
+            l2.put(entry.getKey(), defaults.entryTtl(spec.l2Ttl));
+        }
+
+        // SCAN rather than KEYS when a cache is cleared, so clearing never blocks Redis.
+        RedisCacheWriter writer = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000));
+        RedisCacheManager redis = RedisCacheManager.builder(writer)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(l2)
+                .disableCreateOnMissingCache()
+                .build();
+        redis.afterPropertiesSet();
+        return new TwoLevelCacheManager(l1, redis, serializer, meterRegistry);
+    }
+
+    /** A failing cache is logged and bypassed; the annotated method then runs against MySQL as before. */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new CacheErrorHandler() {
+            @Override
+            public void handleCacheGetError(RuntimeException e, Cache cache, Object key) {
+                log("get", cache, key, e);
+            }
+
+            @Override
+            public void handleCachePutError(RuntimeException e, Cache cache, Object key, Object value) {
+                log("put", cache, key, e);
+            }
+
+            @Override
+            public void handleCacheEvictError(RuntimeException e, Cache cache, Object key) {
+                log("evict", cache, key, e);
+            }
+
+            @Override
+            public void handleCacheClearError(RuntimeException e, Cache cache) {
+                log("clear", cache, null, e);
+            }
+        };
+    }
+
+    private static void log(String operation, Cache cache, Object key, RuntimeException e) {
+        System.err.println("⚠️ Cache " + operation + " failed on " + cache.getName()
+                + (key != null ? " for key " + key : "") + ": " + e.getMessage());
+    }
+}
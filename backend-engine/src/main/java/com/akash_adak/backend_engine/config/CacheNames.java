@@ -0,0 +1,13 @@
+package com.akash_adak.backend_engine.config;
+
+/** Names of the two-level caches declared in {@link CacheConfig}. */
+public final class CacheNames {
+
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    public static final String API_SCHEMAS_BY_NAME = "apiSchemasByName";
+    public static final String API_SCHEMAS_BY_OWNER = "apiSchemasByOwner";
+    public static final String USER_PLANS = "userPlans";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,96 @@
+package com.akash_adak.backend_engine.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps values serialized, so every read hands out a private copy. The cached
+ * JPA entities are mutated by callers before {@code save}; sharing one
+ * instance would let other threads see unsaved changes, and a failed save
+ * would leave them in the cache.
+ */
+public class CopyingCache implements Cache {
+
+    private final Cache delegate;
+    private final RedisSerializer<Object> serializer;
+
+    public CopyingCache(Cache delegate, RedisSerializer<Object> serializer) {
+        this.delegate = delegate;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper stored = delegate.get(key);
+        return stored == null ? null : new SimpleValueWrapper(copyOut(stored.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) return null;
+        Object copy = value.get();
+        if (copy != null && type != null && !type.isInstance(copy)) {
+            throw new IllegalStateException("Cached value for '" + key + "' in " + getName() + " is not of type " + type.getName());
+        }
+        return (T) copy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) return (T) value.get();
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, copyIn(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, copyIn(value));
+        return existing == null ? null : new SimpleValueWrapper(copyOut(existing.get()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    private Object copyIn(Object value) {
+        return value == null ? null : serializer.serialize(value);
+    }
+
+    private Object copyOut(Object stored) {
+        return stored == null ? null : serializer.deserialize((byte[]) stored);
+    }
+}
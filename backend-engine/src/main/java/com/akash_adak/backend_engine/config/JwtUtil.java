@@ -37,8 +37,12 @@ public class JwtUtil {
         return claims.getSubject();
     }
     public String extractEmail(String token) {
+        return extractClaims(token).getSubject();
+    }
+
+    public Claims extractClaims(String token) {
         return Jwts.parser().setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token).getBody().getSubject();
+                .parseClaimsJws(token).getBody();
     }
 
 }
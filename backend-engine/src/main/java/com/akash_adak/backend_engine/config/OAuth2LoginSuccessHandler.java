@@ -2,6 +2,7 @@ package com.akash_adak.backend_engine.config;
 
 import com.akash_adak.backend_engine.model.User;
 import com.akash_adak.backend_engine.repository.UserRepository;
+import com.akash_adak.backend_engine.service.CacheInvalidationBus;
 import com.akash_adak.backend_engine.service.RedisService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,6 +35,9 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     @Value("${app.frontend-url}")
     private String frontendApi;
 
@@ -93,7 +97,9 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
         user.setName(name != null ? name : login);
         user.setPicture(picture != null ? picture : avatarUrl);
         user.setLastLogin(LocalDateTime.now());
+        boolean newUser = user.getId() == null;
         userRepository.save(user);
+        if (newUser) invalidationBus.apiKeyIssued(user.getApikey());
 
         // Generate JWT token
         String token = jwtUtil.generateToken(email);
@@ -1,25 +1,40 @@
 package com.akash_adak.backend_engine.config;
 
+import com.akash_adak.backend_engine.service.HitCounterService;
+import com.akash_adak.backend_engine.service.QuotaService;
+import com.akash_adak.backend_engine.service.RateLimitResult;
 import com.akash_adak.backend_engine.service.RateLimiterService;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
 
 @Component
 public class RateLimitingInterceptor implements HandlerInterceptor {
 
     private final RateLimiterService rateLimiterService;
+    private final HitCounterService hitCounterService;
+    private final QuotaService quotaService;
 
-    public RateLimitingInterceptor(RateLimiterService rateLimiterService) {
+    public RateLimitingInterceptor(RateLimiterService rateLimiterService,
+                                   HitCounterService hitCounterService,
+                                   QuotaService quotaService) {
         this.rateLimiterService = rateLimiterService;
+        this.hitCounterService = hitCounterService;
+        this.quotaService = quotaService;
     }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming responses re-dispatch once the body is written; the request was already charged.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
         String apiKey = request.getHeader("X-API-KEY");
 
         if (apiKey == null) {
@@ -27,13 +42,36 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        Bucket bucket = rateLimiterService.resolveBucket(apiKey);
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        String tier = rateLimiterService.tierOf(apiKey);
+        if (tier == null) {
+            rejectUnknownKey(response);
+            return false;
+        }
+
+        // The per-API quota is checked first, so a quota rejection does not spend a daily token.
+        String apiName = apiName(request);
+        if (!quotaService.allowRequest(apiKey, apiName, tier)) {
+            long retryAfter = quotaService.retryAfterSeconds();
+            response.setStatus(429);
+            response.addHeader("Retry-After", String.valueOf(retryAfter));
+            response.addHeader("X-Rate-Limit-Reason", "API quota exceeded for '" + apiName + "'. Retry after " + retryAfter + " seconds.");
+            return false;
+        }
+
+        RateLimitResult probe = rateLimiterService.tryConsume(apiKey);
+        if (!probe.isConsumed()) {
+            quotaService.release(apiKey, apiName);
+        }
+
+        if (probe.isUnknownKey()) {
+            rejectUnknownKey(response);
+            return false;
+        }
 
         if (probe.isConsumed()) {
-            rateLimiterService.incrementHit(apiKey);
+            long totalHits = hitCounterService.increment(apiKey, apiName);
             response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
-            response.addHeader("X-Total-Hits", String.valueOf(rateLimiterService.getHitCount(apiKey)));
+            response.addHeader("X-Total-Hits", String.valueOf(totalHits));
             return true;
         } else {
             response.setStatus(429);
@@ -46,4 +84,14 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
         }
     }
 
+    private static void rejectUnknownKey(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.addHeader("X-Rate-Limit-Reason", "Unknown API key.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String apiName(HttpServletRequest request) {
+        Map<String, String> vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return vars == null ? null : vars.get("apiName");
+    }
 }
@@ -1,9 +1,12 @@
 package com.akash_adak.backend_engine.config;
 
+import com.akash_adak.backend_engine.service.CacheInvalidationBus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -23,4 +26,15 @@ public class RedisConfig {
 
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory,
+                                                                       CacheInvalidationBus invalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+
+        // 📣 Schema, user, plan and logout changes broadcast to every replica
+        container.addMessageListener(invalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
 }
@@ -46,7 +46,7 @@ public class SecurityConfig {
                                 "/oauth2/**"          // ❤️ FIX
                             ).permitAll()
                             .requestMatchers("/apis/**","/cloud-api/**").authenticated()
-                            .requestMatchers("/actuator/prometheus").permitAll()
+                            .requestMatchers("/actuator/prometheus", "/actuator/health/**").permitAll()
                             .anyRequest().authenticated()
                         )
 
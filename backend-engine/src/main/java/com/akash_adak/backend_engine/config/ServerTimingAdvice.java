@@ -0,0 +1,61 @@
+package com.akash_adak.backend_engine.config;
+
+import com.akash_adak.backend_engine.controller.DynamicCrudController;
+import com.akash_adak.backend_engine.service.ServerTiming;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds a {@code Server-Timing} header with the per-stage breakdown of a data
+ * API request when the client sends {@code X-Debug-Timing: true}, or for every
+ * request when {@code app.debug.server-timing} is on.
+ */
+@ControllerAdvice(assignableTypes = DynamicCrudController.class)
+public class ServerTimingAdvice implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    static final String DEBUG_HEADER = "X-Debug-Timing";
+
+    private final boolean alwaysOn;
+
+    public ServerTimingAdvice(@Value("${app.debug.server-timing:false}") boolean alwaysOn) {
+        this.alwaysOn = alwaysOn;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC
+                && (alwaysOn || "true".equalsIgnoreCase(request.getHeader(DEBUG_HEADER)))) {
+            request.setAttribute(ServerTiming.ATTRIBUTE, new ServerTiming());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            Object timing = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(ServerTiming.ATTRIBUTE);
+            if (timing instanceof ServerTiming) {
+                response.getHeaders().add("Server-Timing", ((ServerTiming) timing).toHeaderValue());
+            }
+        }
+        return body;
+    }
+}
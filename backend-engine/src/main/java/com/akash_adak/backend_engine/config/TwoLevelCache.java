@@ -0,0 +1,164 @@
+package com.akash_adak.backend_engine.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A per-pod {@code l1} cache in front of a shared {@code l2}. Reads try L1,
+ * then L2 (promoting hits into L1), then the loader; writes and evictions go
+ * to both. L2 failures are counted and logged, and the cache carries on with
+ * L1 alone, so a Redis outage costs hit ratio rather than requests.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache l1;
+    private final Cache l2;
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter l2Errors;
+
+    public TwoLevelCache(String name, Cache l1, Cache l2, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l1Hits = counter(meterRegistry, "l1_hit");
+        this.l2Hits = counter(meterRegistry, "l2_hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.l2Errors = Counter.builder("reqnest.cache.l2.errors")
+                .tag("cache", name)
+                .description("Shared (Redis) cache operations that failed and were skipped")
+                .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("reqnest.cache.gets")
+                .tag("cache", name)
+                .tag("result", result)
+                .description("Two-level cache lookups by the level that answered them")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = l1.get(key);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        value = l2Get(key);
+        if (value != null) {
+            l2Hits.increment();
+            l1.put(key, value.get());
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) return null;
+        Object stored = value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value for '" + key + "' in " + name + " is not of type " + type.getName());
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) return (T) value.get();
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            l2.put(key, value);
+        } catch (RuntimeException e) {
+            l2Failed("put", key, e);
+        }
+        l1.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing != null) return existing;
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            l2.evict(key);
+        } catch (RuntimeException e) {
+            l2Failed("evict", key, e);
+        }
+        l1.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            l2.clear();
+        } catch (RuntimeException e) {
+            l2Failed("clear", null, e);
+        }
+        l1.clear();
+    }
+
+    /** Drops the local copy only; used when another pod announces a change. */
+    public void evictLocal(Object key) {
+        l1.evict(key);
+    }
+
+    public void clearLocal() {
+        l1.clear();
+    }
+
+    private ValueWrapper l2Get(Object key) {
+        try {
+            ValueWrapper value = l2.get(key);
+            return value == null ? null : new SimpleValueWrapper(value.get());
+        } catch (RuntimeException e) {
+            l2Failed("get", key, e);
+            return null;
+        }
+    }
+
+    private void l2Failed(String operation, Object key, RuntimeException e) {
+        l2Errors.increment();
+        System.err.println("⚠️ Redis cache " + operation + " failed for " + name
+                + (key != null ? " key " + key : "") + ": " + e.getMessage());
+    }
+}
@@ -0,0 +1,49 @@
+package com.akash_adak.backend_engine.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed set of {@link TwoLevelCache}s: each pairs a bounded Caffeine cache
+ * with the Redis cache of the same name. L1 holds serialized copies, like L2,
+ * so callers never share a mutable entity. Unknown names are not created on the
+ * fly, so a typo in {@code @Cacheable} fails at startup-time use rather than
+ * silently caching without limits.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+
+    public TwoLevelCacheManager(Map<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> l1Caches,
+                                RedisCacheManager l2, RedisSerializer<Object> serializer,
+                                MeterRegistry meterRegistry) {
+        for (Map.Entry<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> entry : l1Caches.entrySet()) {
+            String name = entry.getKey();
+            Cache l2Cache = l2.getCache(name);
+            if (l2Cache == null) throw new IllegalStateException("No Redis cache configured for " + name);
+            Cache l1Cache = new CopyingCache(new CaffeineCache(name, entry.getValue(), false), serializer);
+            caches.put(name, new TwoLevelCache(name, l1Cache, l2Cache, meterRegistry));
+        }
+    }
+
+    @Override
+    public TwoLevelCache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache == null) throw new IllegalArgumentException("Unknown cache: " + name);
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+}
@@ -0,0 +1,116 @@
+package com.akash_adak.backend_engine.config;
+
+import com.akash_adak.backend_engine.model.User;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers JWTs whose signature has already been checked, keyed by a SHA-256
+ * digest of the token and kept no longer than the token's own expiry, plus a
+ * short-lived cache of the {@link User} each email resolves to. A repeat
+ * request costs a digest and two map lookups instead of an HMAC check and a
+ * MySQL query.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+    private final Cache<String, VerifiedToken> tokens;
+    private final Cache<String, Optional<User>> users;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              UserRepository userRepository,
+                              @Value("${app.auth.token-cache-max-size:100000}") long maxTokens,
+                              @Value("${app.auth.user-cache-ttl:PT30S}") Duration userTtl) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxTokens)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxTokens)
+                .expireAfterWrite(userTtl)
+                .build();
+    }
+
+    /** Email (subject) of a valid token; throws like {@link JwtUtil#extractEmail} when it is not. */
+    public String verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = tokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.email;
+        }
+        Claims claims = jwtUtil.extractClaims(token);
+        if (claims.getExpiration() != null) {
+            tokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+
+    public Optional<User> user(String email) {
+        return users.get(email, userRepository::findByEmail);
+    }
+
+    /** Drops a token by its digest, as carried by invalidation events from other replicas. */
+    public void evictDigest(String digest) {
+        tokens.invalidate(digest);
+    }
+
+    public void evictUser(String email) {
+        users.invalidate(email);
+    }
+
+    public void clear() {
+        tokens.invalidateAll();
+        users.invalidateAll();
+    }
+
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final String email;
+        private final long expiresAt;
+
+        VerifiedToken(String email, long expiresAt) {
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
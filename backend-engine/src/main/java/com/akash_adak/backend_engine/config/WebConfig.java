@@ -10,9 +10,11 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final RateLimitingInterceptor rateLimitingInterceptor;
+    private final ServerTimingAdvice serverTimingAdvice;
 
-    public WebConfig(RateLimitingInterceptor rateLimitingInterceptor) {
+    public WebConfig(RateLimitingInterceptor rateLimitingInterceptor, ServerTimingAdvice serverTimingAdvice) {
         this.rateLimitingInterceptor = rateLimitingInterceptor;
+        this.serverTimingAdvice = serverTimingAdvice;
     }
 
     @Override
@@ -21,6 +23,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*")  // allows any origin
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Continuation-Token", "Server-Timing")
                 .allowCredentials(true);     // works with patterns
     }
 
@@ -29,5 +32,7 @@ public class WebConfig implements WebMvcConfigurer {
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(rateLimitingInterceptor)
                 .addPathPatterns("/data/**");
+        registry.addInterceptor(serverTimingAdvice)
+                .addPathPatterns("/data/**");
     }
 }
@@ -3,10 +3,13 @@ package com.akash_adak.backend_engine.controller;
 
 
 import com.akash_adak.backend_engine.model.ApiSchema;
+import com.akash_adak.backend_engine.model.IndexBuildStatus;
 import com.akash_adak.backend_engine.repository.ApiSchemaRepository;
 
 import com.akash_adak.backend_engine.service.ApiService;
+import com.akash_adak.backend_engine.service.CacheInvalidationBus;
 import com.akash_adak.backend_engine.service.RedisService;
+import com.akash_adak.backend_engine.service.SchemaIndexManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +31,10 @@ public class ApiSchemaController {
     private ApiService apiService;
     @Autowired
     private RedisService redisService;
+    @Autowired
+    private SchemaIndexManager schemaIndexManager;
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
     public ApiSchemaController(ApiSchemaRepository repository) {
         this.repository = repository;
     }
@@ -42,6 +49,8 @@ public class ApiSchemaController {
 //        redisService.set("USERS_API:" + email, schema, 7 * 24 * 60 * 60);
         schema.setCreatedBy(email);
         ApiSchema saved = repository.save(schema);
+        invalidationBus.schemaChanged(email, saved.getName());
+        schemaIndexManager.syncIndexes(saved);
         return ResponseEntity.ok(saved);
     }
 
@@ -79,6 +88,26 @@ public class ApiSchemaController {
     }
 
 
+    @GetMapping("/{name}/indexes")
+    public ResponseEntity<IndexBuildStatus> getIndexStatus(
+            @PathVariable String name,
+            OAuth2AuthenticationToken authentication
+    ) {
+        Map<String, Object> userAttributes = authentication.getPrincipal().getAttributes();
+
+        String email = (String) userAttributes.get("email");
+
+        if (repository.findByNameAndCreatedBy(name, email) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        IndexBuildStatus status = schemaIndexManager.getStatus(name);
+        if (status == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+
     @DeleteMapping("/{name}")
     public ResponseEntity<?> deleteSchemaByName(
             @PathVariable String name,
@@ -94,6 +123,8 @@ public class ApiSchemaController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
         repository.delete(api);
+        invalidationBus.schemaDeleted(email, name);
+        schemaIndexManager.forget(name);
         return ResponseEntity.ok().build();
     }
 
@@ -114,6 +145,9 @@ public class ApiSchemaController {
         api.setSchemaJson(curr.getSchemaJson());
         api.setCreatedBy(email);
         ApiSchema saved = repository.save(api);
+        invalidationBus.schemaChanged(email, name);
+        if (!name.equals(saved.getName())) invalidationBus.schemaChanged(email, saved.getName());
+        schemaIndexManager.syncIndexes(saved);
         return ResponseEntity.ok(saved);
     }
 
@@ -1,11 +1,14 @@
 package com.akash_adak.backend_engine.controller;
 
 import com.akash_adak.backend_engine.service.CloudApiService;
+import com.akash_adak.backend_engine.service.UsageRollupService;
 import org.bson.Document;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 
@@ -14,9 +17,11 @@ import java.util.List;
 public class CloudApiController {
 
     private final CloudApiService cloudApiService;
+    private final UsageRollupService usageRollupService;
 
-    public CloudApiController(CloudApiService cloudApiService) {
+    public CloudApiController(CloudApiService cloudApiService, UsageRollupService usageRollupService) {
         this.cloudApiService = cloudApiService;
+        this.usageRollupService = usageRollupService;
     }
 
     @GetMapping("/endpoints")
@@ -34,6 +39,18 @@ public class CloudApiController {
         return ResponseEntity.ok(cloudApiService.getByApiName(apiName, email));
     }
 
+    @GetMapping("/endpoints/{apiName}/usage")
+    public ResponseEntity<List<Document>> getUsage(
+            @PathVariable String apiName,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            OAuth2AuthenticationToken authentication
+    ) {
+        String email = (String) authentication.getPrincipal().getAttributes().get("email");
+        return ResponseEntity.ok(usageRollupService.getUsage(email, apiName, granularity, from, to));
+    }
+
     @PostMapping("/test")
     public ResponseEntity<Document> testApi(
             @RequestBody Document log,
@@ -1,11 +1,16 @@
 package com.akash_adak.backend_engine.controller;
 
+import com.akash_adak.backend_engine.model.DocumentPage;
 import com.akash_adak.backend_engine.service.DynamicService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +18,8 @@ import java.util.Map;
 @RequestMapping("/data/{apiName}")
 public class DynamicCrudController {
 
+    static final String CONTINUATION_HEADER = "X-Continuation-Token";
+
     @Autowired
     private DynamicService dynamicService;
 
@@ -25,30 +32,87 @@ public class DynamicCrudController {
         return ResponseEntity.ok(dynamicService.createDocument(apiName, payload, userId));
     }
 
-    /** READ ALL **/
+    /** BULK CREATE from a JSON array **/
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> bulkCreate(@PathVariable String apiName,
+                                                          @RequestBody List<Map<String, Object>> payloads,
+                                                          OAuth2AuthenticationToken request) {
+        String userId = (String) request.getPrincipal().getAttributes().get("email");
+        return ResponseEntity.ok(dynamicService.bulkCreateDocuments(apiName, payloads, userId));
+    }
+
+    /** BULK CREATE from newline-delimited JSON **/
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Map<String, Object>> bulkCreateNdjson(@PathVariable String apiName,
+                                                                HttpServletRequest servletRequest,
+                                                                OAuth2AuthenticationToken request) throws IOException {
+        String userId = (String) request.getPrincipal().getAttributes().get("email");
+        List<Map<String, Object>> payloads = dynamicService.readNdjson(servletRequest.getInputStream());
+        return ResponseEntity.ok(dynamicService.bulkCreateDocuments(apiName, payloads, userId));
+    }
+
+    /** READ ALL (paged; the cursor for the next page is returned in X-Continuation-Token) **/
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> readAll(@PathVariable String apiName,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String after,
+                                                             @RequestParam(required = false) String fields,
                                                              OAuth2AuthenticationToken request) {
         String userId = (String) request.getPrincipal().getAttributes().get("email");
-        return ResponseEntity.ok(dynamicService.readAllDocuments(apiName, userId));
+        DocumentPage page = dynamicService.readAllDocuments(apiName, limit, after, fields, userId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextToken() != null) {
+            response.header(CONTINUATION_HEADER, page.getNextToken());
+        }
+        return response.body(page.getItems());
+    }
+
+    /** READ ALL as NDJSON (Accept: application/x-ndjson), streamed straight from the cursor **/
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll(@PathVariable String apiName,
+                                                           @RequestParam(required = false) String fields,
+                                                           OAuth2AuthenticationToken request) {
+        String userId = (String) request.getPrincipal().getAttributes().get("email");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(dynamicService.streamDocuments(apiName, null, fields, userId));
     }
 
     /** SEARCH **/
     @PostMapping("/search")
     public ResponseEntity<List<Map<String, Object>>> search(@PathVariable String apiName,
                                                             @RequestBody Map<String, Object> searchFields,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            @RequestParam(required = false) String fields,
                                                             OAuth2AuthenticationToken request) {
         String userId = (String) request.getPrincipal().getAttributes().get("email");
-        return ResponseEntity.ok(dynamicService.searchDocuments(apiName, searchFields, userId));
+        return ResponseEntity.ok(dynamicService.searchDocuments(apiName, searchFields, limit, fields, userId));
+    }
+
+    /** SEARCH as NDJSON (Accept: application/x-ndjson) **/
+    @PostMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearch(@PathVariable String apiName,
+                                                              @RequestBody Map<String, Object> searchFields,
+                                                              @RequestParam(required = false) String fields,
+                                                              OAuth2AuthenticationToken request) {
+        String userId = (String) request.getPrincipal().getAttributes().get("email");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(dynamicService.streamDocuments(apiName, searchFields, fields, userId));
     }
 
-    /** UPDATE **/
+    /** UPDATE (updateAll=true applies the change to every document matching `field`) **/
     @PutMapping
     public ResponseEntity<?> update(@PathVariable String apiName,
                                     @RequestBody Map<String, Object> payload,
+                                    @RequestParam(defaultValue = "false") boolean updateAll,
+                                    @RequestParam(required = false) String field,
                                     OAuth2AuthenticationToken request) {
         String userId = (String) request.getPrincipal().getAttributes().get("email");
-        return ResponseEntity.ok(dynamicService.updateDocument(apiName, payload, userId));
+        if (updateAll) {
+            return ResponseEntity.ok(dynamicService.updateAllDocuments(apiName, payload, field, userId));
+        }
+        return ResponseEntity.ok(dynamicService.updateDocument(apiName, payload, field, userId));
     }
 
     /** DELETE **/
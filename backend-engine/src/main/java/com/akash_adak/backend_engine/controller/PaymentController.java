@@ -1,7 +1,10 @@
 package com.akash_adak.backend_engine.controller;
 
 import com.akash_adak.backend_engine.model.User;
+import com.akash_adak.backend_engine.model.UserPlan;
+import com.akash_adak.backend_engine.repository.UserPlanRepository;
 import com.akash_adak.backend_engine.repository.UserRepository;
+import com.akash_adak.backend_engine.service.CacheInvalidationBus;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import org.json.JSONObject;
@@ -19,9 +22,15 @@ import java.util.Map;
 public class PaymentController {
 
     private final UserRepository userRepository;
+    private final UserPlanRepository userPlanRepository;
+    private final CacheInvalidationBus invalidationBus;
 
-    public PaymentController(UserRepository userRepository) {
+    public PaymentController(UserRepository userRepository,
+                             UserPlanRepository userPlanRepository,
+                             CacheInvalidationBus invalidationBus) {
         this.userRepository = userRepository;
+        this.userPlanRepository = userPlanRepository;
+        this.invalidationBus = invalidationBus;
     }
 
     @Value("${razorpay.key}")
@@ -96,6 +105,16 @@ public class PaymentController {
                 }
 
                 userRepository.save(user);
+                invalidationBus.userChanged(user.getEmail());
+
+                // Rate limits are keyed by API key: record the plan there and tell every replica
+                if (user.getApikey() != null) {
+                    UserPlan userPlan = new UserPlan();
+                    userPlan.setApiKey(user.getApikey());
+                    userPlan.setTier(user.getTier());
+                    userPlanRepository.save(userPlan);
+                    invalidationBus.tierChanged(user.getApikey(), user.getTier());
+                }
             }
 
             Map<String, Object> response = new HashMap<>();
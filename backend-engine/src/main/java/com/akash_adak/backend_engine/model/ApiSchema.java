@@ -9,6 +9,7 @@ import java.io.Serializable;
 @Data
 @Table(name = "api_schemas")
 public class ApiSchema implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,24 @@
+package com.akash_adak.backend_engine.model;
+
+import java.util.List;
+import java.util.Map;
+
+/** One page of documents from a dynamic collection plus the cursor for the next page. */
+public class DocumentPage {
+
+    private final List<Map<String, Object>> items;
+    private final String nextToken; // null when this is the last page
+
+    public DocumentPage(List<Map<String, Object>> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+
+    public List<Map<String, Object>> getItems() {
+        return items;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+}
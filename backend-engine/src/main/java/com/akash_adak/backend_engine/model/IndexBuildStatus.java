@@ -0,0 +1,69 @@
+package com.akash_adak.backend_engine.model;
+
+import java.time.Instant;
+
+/** Progress of the background index sync for one dynamic API collection. */
+public class IndexBuildStatus {
+
+    public enum State { PENDING, BUILDING, READY, FAILED }
+
+    private volatile State state = State.PENDING;
+    private volatile int total;
+    private volatile int completed;
+    private volatile String current;
+    private volatile String error;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public String getCurrent() {
+        return current;
+    }
+
+    public void setCurrent(String current) {
+        this.current = current;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -6,11 +6,15 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Entity
 @Getter
 @Setter
 @Data
-public class UserPlan {
+public class UserPlan implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     @Id
     private String apiKey; // unique per user
 
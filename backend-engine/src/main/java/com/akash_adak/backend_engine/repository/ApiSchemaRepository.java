@@ -1,13 +1,37 @@
 package com.akash_adak.backend_engine.repository;
 
 
+import com.akash_adak.backend_engine.config.CacheNames;
 import com.akash_adak.backend_engine.model.ApiSchema;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface ApiSchemaRepository extends JpaRepository<ApiSchema, Long> {
+    @Cacheable(cacheNames = CacheNames.API_SCHEMAS_BY_NAME, unless = "#result == null")
     ApiSchema findByName(String name);
+    @Cacheable(cacheNames = CacheNames.API_SCHEMAS_BY_OWNER)
     List<ApiSchema> findByCreatedBy(String createdBy);
     ApiSchema findByNameAndCreatedBy(String name, String createdBy);
+    @Query("select a.name from ApiSchema a")
+    List<String> findAllNames();
+
+    // A save may be a rename, and the old name is not known here, so the by-name cache is cleared.
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.API_SCHEMAS_BY_NAME, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.API_SCHEMAS_BY_OWNER, key = "#p0.createdBy")
+    })
+    <S extends ApiSchema> S save(S schema);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.API_SCHEMAS_BY_NAME, key = "#p0.name"),
+            @CacheEvict(cacheNames = CacheNames.API_SCHEMAS_BY_OWNER, key = "#p0.createdBy")
+    })
+    void delete(ApiSchema schema);
 }
@@ -1,7 +1,32 @@
 package com.akash_adak.backend_engine.repository;
 
+import com.akash_adak.backend_engine.config.CacheNames;
 import com.akash_adak.backend_engine.model.UserPlan;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface UserPlanRepository extends JpaRepository<UserPlan, String> {
+    @Override
+    @Cacheable(cacheNames = CacheNames.USER_PLANS, unless = "#result == null")
+    Optional<UserPlan> findById(String apiKey);
+
+    @Query("select p.apiKey from UserPlan p")
+    List<String> findAllApiKeys();
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.USER_PLANS, key = "#p0.apiKey")
+    <S extends UserPlan> S save(S plan);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.USER_PLANS, key = "#p0.apiKey")
+    void delete(UserPlan plan);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.USER_PLANS, key = "#p0")
+    void deleteById(String apiKey);
 }
@@ -1,9 +1,27 @@
 package com.akash_adak.backend_engine.repository;
 
+import com.akash_adak.backend_engine.config.CacheNames;
 import com.akash_adak.backend_engine.model.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Cacheable(cacheNames = CacheNames.USERS_BY_EMAIL, unless = "#result == null")
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+    Optional<User> findByApikey(String apikey);
+    @Query("select u.apikey from User u where u.apikey is not null")
+    List<String> findAllApikeys();
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.USERS_BY_EMAIL, key = "#p0.email")
+    <S extends User> S save(S user);
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.USERS_BY_EMAIL, key = "#p0.email")
+    void delete(User user);
+}
@@ -0,0 +1,44 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.repository.UserPlanRepository;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API keys that belong to a user or a plan, so a request with a made-up key is
+ * rejected by the rate limiter without a MySQL query and without taking a slot
+ * in the tier cache. New keys are added when they are issued.
+ */
+@Service
+public class ApiKeyFilter extends BloomNameFilter {
+
+    private final UserRepository userRepository;
+    private final UserPlanRepository userPlanRepository;
+
+    public ApiKeyFilter(UserRepository userRepository,
+                        UserPlanRepository userPlanRepository,
+                        @Value("${app.api-keys.expected:1000000}") int expectedKeys,
+                        @Value("${app.api-keys.false-positive-rate:0.001}") double falsePositiveRate) {
+        super("API key", expectedKeys, falsePositiveRate);
+        this.userRepository = userRepository;
+        this.userPlanRepository = userPlanRepository;
+    }
+
+    @Override
+    protected List<String> loadAll() {
+        List<String> keys = new ArrayList<>(userRepository.findAllApikeys());
+        keys.addAll(userPlanRepository.findAllApiKeys());
+        return keys;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.api-keys.rebuild-check-ms:60000}")
+    public void rebuildIfStale() {
+        super.rebuildIfStale();
+    }
+}
@@ -0,0 +1,61 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for the data API, tagged by API, operation and status and
+ * published as percentile histograms so Prometheus can compute p99 per API.
+ * Only the first {@code max-api-tags} API names get their own tag; later ones
+ * share {@code api="other"} to keep the series count bounded.
+ */
+@Service
+public class ApiLatencyMetrics {
+
+    static final String TIMER_NAME = "reqnest.data.request";
+    static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxApiTags;
+    private final Set<String> taggedApis = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ApiLatencyMetrics(MeterRegistry meterRegistry,
+                             @Value("${app.metrics.max-api-tags:100}") int maxApiTags) {
+        this.meterRegistry = meterRegistry;
+        this.maxApiTags = maxApiTags;
+    }
+
+    public void record(String apiName, String operation, int status, long elapsedNanos) {
+        String api = apiTag(apiName);
+        String key = api + '\0' + operation + '\0' + status;
+        timers.computeIfAbsent(key, k -> Timer.builder(TIMER_NAME)
+                .description("Data API request latency")
+                .tag("api", api)
+                .tag("operation", operation)
+                .tag("status", String.valueOf(status))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    String apiTag(String apiName) {
+        if (apiName == null) return OTHER;
+        if (taggedApis.contains(apiName)) return apiName;
+        // Racing threads may overshoot the cap by a few names; the bound still holds approximately.
+        if (taggedApis.size() < maxApiTags) {
+            taggedApis.add(apiName);
+            return apiName;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,41 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.repository.ApiSchemaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Registered API names, so a request for a name that was never registered can
+ * be turned away without touching MySQL. Names are added as APIs are created;
+ * a deletion marks the filter stale.
+ */
+@Service
+public class ApiNameFilter extends BloomNameFilter {
+
+    private final ApiSchemaRepository schemaRepo;
+
+    public ApiNameFilter(ApiSchemaRepository schemaRepo,
+                         @Value("${app.api-names.expected:100000}") int expectedNames,
+                         @Value("${app.api-names.false-positive-rate:0.01}") double falsePositiveRate) {
+        super("API name", expectedNames, falsePositiveRate);
+        this.schemaRepo = schemaRepo;
+    }
+
+    @Override
+    protected List<String> loadAll() {
+        return schemaRepo.findAllNames();
+    }
+
+    public void markRemoved(String name) {
+        markStale();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.api-names.rebuild-check-ms:600000}")
+    public void rebuildIfStale() {
+        super.rebuildIfStale();
+    }
+}
@@ -0,0 +1,172 @@
+package com.akash_adak.backend_engine.service;
+
+import jakarta.annotation.PostConstruct;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over a set of strings kept in MySQL, so a lookup for something
+ * that does not exist can be answered without a query. False positives only
+ * cost the usual lookup; there are no false negatives once the filter is
+ * built. Until then, or if building fails, everything is let through.
+ * <p>
+ * Entries are added as they are created. Bloom filters cannot forget, so a
+ * removal only marks the filter stale and it is rebuilt on the next check.
+ * When additions may have been missed, {@link #distrust} stops filtering
+ * until a rebuild that is deliberately delayed by a random amount.
+ */
+public abstract class BloomNameFilter {
+
+    private final String label;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    // Entries added since the current rebuild started reading, replayed into the new filter.
+    private final Set<String> addedDuringRebuild = new HashSet<>();
+    private final Object rebuildLock = new Object();
+    private volatile long rebuildNotBefore;
+
+    private volatile Bits bits;
+
+    protected BloomNameFilter(String label, int expectedEntries, double falsePositiveRate) {
+        this.label = label;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /** Every entry that currently exists. */
+    protected abstract List<String> loadAll();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean mightContain(String name) {
+        Bits current = bits;
+        return current == null || current.mightContain(name);
+    }
+
+    public synchronized void add(String name) {
+        if (name == null) return;
+        if (bits != null) bits.put(name);
+        addedDuringRebuild.add(name);
+    }
+
+    /** Something left the set; bits cannot be cleared, so the next check rebuilds. */
+    protected void markStale() {
+        stale.set(true);
+    }
+
+    /**
+     * Additions may have been missed, so everything is let through until the
+     * filter is rebuilt. The rebuild waits for the next scheduled check after a
+     * random delay of up to {@code jitterMillis}, so replicas that all noticed
+     * the same outage do not reload from MySQL together.
+     */
+    public void distrust(long jitterMillis) {
+        rebuildNotBefore = System.currentTimeMillis() + ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        synchronized (this) {
+            bits = null;
+        }
+        stale.set(true);
+    }
+
+    /** Replaces the filter with one built from {@link #loadAll()}; on failure the old one (or none) stays. */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            doRebuild();
+        }
+    }
+
+    private void doRebuild() {
+        stale.set(false);
+        synchronized (this) {
+            addedDuringRebuild.clear();
+        }
+        try {
+            List<String> names = loadAll();
+            Bits fresh = new Bits(Math.max(expectedEntries, names.size() * 2), falsePositiveRate);
+            for (String name : names) fresh.put(name);
+            synchronized (this) {
+                for (String name : addedDuringRebuild) fresh.put(name);
+                addedDuringRebuild.clear();
+                bits = fresh;
+            }
+            System.out.println("✅ " + label + " filter built with " + names.size() + " entries");
+        } catch (Exception e) {
+            stale.set(true);
+            System.err.println("⚠️ Could not build " + label + " filter: " + e.getMessage());
+        }
+    }
+
+    /** Retries a failed build, drops removed entries or ends a {@link #distrust}; subclasses schedule it. */
+    public void rebuildIfStale() {
+        if (stale.get() && System.currentTimeMillis() >= rebuildNotBefore) rebuild();
+    }
+
+    /** Lock-free bit array with k probes from double hashing of a 64-bit FNV-1a hash. */
+    static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int probes;
+
+        Bits(int expected, double fpp) {
+            long m = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.probes = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        void put(String name) {
+            long hash = hash(name);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= probes; i++) {
+                long bit = index(h1 + i * h2);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) break;
+                } while (!words.compareAndSet(word, old, old | mask));
+            }
+        }
+
+        boolean mightContain(String name) {
+            long hash = hash(name);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= probes; i++) {
+                long bit = index(h1 + i * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        private long index(int combined) {
+            return (combined & Integer.MAX_VALUE) % bitCount;
+        }
+
+        private static long hash(String name) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < name.length(); i++) {
+                h ^= name.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            // Final avalanche so both halves are usable as independent hashes.
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
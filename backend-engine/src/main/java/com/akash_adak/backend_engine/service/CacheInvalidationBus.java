@@ -0,0 +1,241 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.config.CacheNames;
+import com.akash_adak.backend_engine.config.TwoLevelCacheManager;
+import com.akash_adak.backend_engine.config.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells every replica to drop in-process copies of data that just changed:
+ * compiled schemas, L1 cache entries, cached tiers, verified tokens and users.
+ * <p>
+ * Events are {@code version|origin|type|args} on {@link #CHANNEL}. The version
+ * comes from one Redis counter, bumped and published in the same script, so
+ * replicas see versions in order. A replica that notices a gap, or that could
+ * not reach Redis for a while, may have missed events and flushes everything
+ * it holds locally instead.
+ */
+@Service
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "reqnest:invalidations";
+    static final String VERSION_KEY = "reqnest:invalidations:version";
+
+    private static final DefaultRedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('INCR', KEYS[1]) " +
+            "redis.call('PUBLISH', ARGV[1], v .. '|' .. ARGV[2]) " +
+            "return v", Long.class);
+
+    private static final String SCHEMA = "SCHEMA";
+    private static final String USER = "USER";
+    private static final String TIER = "TIER";
+    private static final String TOKEN = "TOKEN";
+    private static final String KEY = "KEY";
+
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong lastSeen = new AtomicLong(-1);
+    // Version Redis reported at the previous check that had not arrived yet; a second sighting means it was missed.
+    private volatile long awaited = -1;
+    private volatile boolean disconnected;
+
+    private final StringRedisTemplate redisTemplate;
+    private final SchemaRegistry schemaRegistry;
+    private final QueryCostGuard queryCostGuard;
+    private final RateLimiterService rateLimiterService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TwoLevelCacheManager cacheManager;
+    private final ApiNameFilter apiNameFilter;
+    private final ApiKeyFilter apiKeyFilter;
+    private final long filterRebuildJitterMs;
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                SchemaRegistry schemaRegistry,
+                                QueryCostGuard queryCostGuard,
+                                RateLimiterService rateLimiterService,
+                                VerifiedTokenCache verifiedTokenCache,
+                                TwoLevelCacheManager cacheManager,
+                                ApiNameFilter apiNameFilter,
+                                ApiKeyFilter apiKeyFilter,
+                                @Value("${app.invalidation.filter-rebuild-jitter-ms:30000}") long filterRebuildJitterMs) {
+        this.redisTemplate = redisTemplate;
+        this.schemaRegistry = schemaRegistry;
+        this.queryCostGuard = queryCostGuard;
+        this.rateLimiterService = rateLimiterService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.cacheManager = cacheManager;
+        this.apiNameFilter = apiNameFilter;
+        this.apiKeyFilter = apiKeyFilter;
+        this.filterRebuildJitterMs = filterRebuildJitterMs;
+    }
+
+    /** An API schema was created, edited or deleted. */
+    public void schemaChanged(String owner, String apiName) {
+        publish(SCHEMA, owner, apiName);
+    }
+
+    /** An API schema was deleted; its name can leave the API name filter. */
+    public void schemaDeleted(String owner, String apiName) {
+        publish(SCHEMA, owner, apiName, "deleted");
+    }
+
+    /** A user row changed (profile, tier). */
+    public void userChanged(String email) {
+        publish(USER, email);
+    }
+
+    /** A new API key was issued; replicas must stop filtering it out as unknown. */
+    public void apiKeyIssued(String apiKey) {
+        publish(KEY, apiKey);
+    }
+
+    /** The plan behind an API key changed. */
+    public void tierChanged(String apiKey, String tier) {
+        publish(TIER, apiKey, tier);
+    }
+
+    /** A token was logged out; only its digest travels. */
+    public void tokenRevoked(String token, String email) {
+        publish(TOKEN, VerifiedTokenCache.digest(token), email);
+    }
+
+    private void publish(String type, String... args) {
+        for (int i = 0; i < args.length; i++) if (args[i] == null) args[i] = "";
+        // Apply locally first so this replica is correct even if Redis is unreachable.
+        apply(type, args);
+        StringBuilder payload = new StringBuilder(origin).append('|').append(type);
+        for (String arg : args) payload.append('|').append(arg);
+        try {
+            redisTemplate.execute(PUBLISH_SCRIPT, List.of(VERSION_KEY), CHANNEL, payload.toString());
+        } catch (Exception e) {
+            System.err.println("❌ Failed to publish " + type + " invalidation: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", -1);
+        if (parts.length < 3) return;
+        long version;
+        try {
+            version = Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        long previous = lastSeen.getAndAccumulate(version, Math::max);
+        if (previous >= 0 && version > previous + 1) {
+            System.out.println("🔄 Invalidation versions " + (previous + 1) + ".." + (version - 1) + " missed, resyncing");
+            resync();
+        }
+        if (parts[1].equals(origin)) return;
+
+        String[] args = new String[parts.length - 3];
+        System.arraycopy(parts, 3, args, 0, args.length);
+        try {
+            apply(parts[2], args);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Ignoring malformed invalidation event: " + e.getMessage());
+        }
+    }
+
+    private void apply(String type, String[] args) {
+        switch (type) {
+            case SCHEMA:
+                if (args.length > 2 && "deleted".equals(args[2])) {
+                    schemaRegistry.remove(args[1]);
+                    apiNameFilter.markRemoved(args[1]);
+                } else {
+                    schemaRegistry.invalidate(args[1]);
+                }
+                queryCostGuard.forget(args[1]);
+                cacheManager.getCache(CacheNames.API_SCHEMAS_BY_NAME).evictLocal(args[1]);
+                cacheManager.getCache(CacheNames.API_SCHEMAS_BY_OWNER).evictLocal(args[0]);
+                break;
+            case USER:
+                verifiedTokenCache.evictUser(args[0]);
+                cacheManager.getCache(CacheNames.USERS_BY_EMAIL).evictLocal(args[0]);
+                break;
+            case TIER:
+                rateLimiterService.applyTierChange(args[0], args[1]);
+                cacheManager.getCache(CacheNames.USER_PLANS).evictLocal(args[0]);
+                break;
+            case KEY:
+                apiKeyFilter.add(args[0]);
+                break;
+            case TOKEN:
+                verifiedTokenCache.evictDigest(args[0]);
+                if (!args[1].isEmpty()) verifiedTokenCache.evictUser(args[1]);
+                break;
+            default:
+                System.err.println("⚠️ Unknown invalidation type: " + type);
+        }
+    }
+
+    /**
+     * Catches events lost while the subscription was down: the Redis counter
+     * moving past what this replica saw, or Redis having been unreachable.
+     */
+    @Scheduled(fixedDelayString = "${app.invalidation.check-interval-ms:5000}")
+    public void checkVersion() {
+        long current;
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_KEY);
+            current = value == null ? 0 : Long.parseLong(value);
+        } catch (Exception e) {
+            if (!disconnected) System.err.println("⚠️ Invalidation bus lost Redis: " + e.getMessage());
+            disconnected = true;
+            return;
+        }
+
+        if (disconnected) {
+            disconnected = false;
+            System.out.println("🔄 Invalidation bus reconnected, resyncing");
+            resync();
+            lastSeen.accumulateAndGet(current, Math::max);
+            return;
+        }
+        if (lastSeen.compareAndSet(-1, current)) return;
+
+        long seen = lastSeen.get();
+        if (current <= seen) {
+            awaited = -1;
+        } else if (awaited >= 0 && seen < awaited) {
+            System.out.println("🔄 Invalidation version " + awaited + " never arrived, resyncing");
+            resync();
+            lastSeen.accumulateAndGet(current, Math::max);
+            awaited = -1;
+        } else {
+            awaited = current;
+        }
+    }
+
+    /**
+     * Drops everything held in-process; each entry reloads from Redis or MySQL
+     * on next use. The Bloom filters are not reloaded here, since every replica
+     * resyncs after the same outage: they let everything through and rebuild
+     * on their own schedule, after a random delay.
+     */
+    void resync() {
+        // Missed creates would otherwise be filtered out as unknown names and keys.
+        apiNameFilter.distrust(filterRebuildJitterMs);
+        apiKeyFilter.distrust(filterRebuildJitterMs);
+        schemaRegistry.invalidateAll();
+        queryCostGuard.forgetAll();
+        rateLimiterService.clearTierCache();
+        verifiedTokenCache.clear();
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).clearLocal();
+        }
+    }
+}
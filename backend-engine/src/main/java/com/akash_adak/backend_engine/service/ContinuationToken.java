@@ -0,0 +1,109 @@
+package com.akash_adak.backend_engine.service;
+
+import org.bson.BsonRegularExpression;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque cursor for keyset pagination on {@code _id}. The raw id is prefixed
+ * with its BSON type so it round-trips as the same type it was read as; ids
+ * of any other type are carried as canonical Extended JSON.
+ * <p>
+ * Mongo sorts {@code _id} by type first, and {@code $gt} only compares
+ * within one type, so {@link #after} also matches every type that sorts
+ * later. A collection mixing id types is walked in full, type by type.
+ */
+final class ContinuationToken {
+
+    private static final JsonWriterSettings EXTENDED_JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    /** The {@code _id} sort order of the BSON types; arrays cannot be ids. */
+    private static final List<Type> TYPE_ORDER = Arrays.asList(
+            Type.nullType(), Type.numberType(), Type.stringType(), Type.objectType(), Type.binaryType(),
+            Type.objectIdType(), Type.booleanType(), Type.dateType(), Type.timestampType(), Type.regexType());
+
+    private ContinuationToken() {
+    }
+
+    static String encode(Object id) {
+        String raw;
+        if (id instanceof ObjectId) raw = "o:" + ((ObjectId) id).toHexString();
+        else if (id instanceof Integer || id instanceof Long) raw = "n:" + id;
+        else if (id instanceof Double) raw = "d:" + id;
+        else if (id instanceof String) raw = "s:" + id;
+        else raw = "j:" + new Document("_id", id).toJson(EXTENDED_JSON);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String value = raw.substring(2);
+            switch (raw.substring(0, 2)) {
+                case "o:":
+                    return new ObjectId(value);
+                case "n:":
+                    long n = Long.parseLong(value);
+                    if (n >= Integer.MIN_VALUE && n <= Integer.MAX_VALUE) return (int) n;
+                    return n;
+                case "d:":
+                    return Double.parseDouble(value);
+                case "s:":
+                    return value;
+                case "j:":
+                    Document doc = Document.parse(value);
+                    if (!doc.containsKey("_id")) throw new IllegalArgumentException("missing _id");
+                    return doc.get("_id");
+                default:
+                    throw new IllegalArgumentException("unknown type");
+            }
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid continuation token");
+        }
+    }
+
+    /** Documents whose {@code _id} sorts after the one the token was issued for. */
+    static Criteria after(String token) {
+        Object id = decode(token);
+        int rank = typeRank(id);
+        if (rank < 0 || rank == TYPE_ORDER.size() - 1) {
+            return Criteria.where("_id").gt(id);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("_id").gt(id),
+                Criteria.where("_id").type(TYPE_ORDER.subList(rank + 1, TYPE_ORDER.size())));
+    }
+
+    // Position of the id's type in TYPE_ORDER, or -1 for types ids are not expected to have.
+    private static int typeRank(Object id) {
+        if (id == null) return 0;
+        if (id instanceof Number) return 1;
+        if (id instanceof String) return 2;
+        if (id instanceof Map) return 3;
+        if (id instanceof Binary || id instanceof byte[]) return 4;
+        if (id instanceof ObjectId) return 5;
+        if (id instanceof Boolean) return 6;
+        if (id instanceof Date) return 7;
+        if (id instanceof BsonTimestamp) return 8;
+        if (id instanceof BsonRegularExpression || id instanceof Pattern) return 9;
+        return -1;
+    }
+}
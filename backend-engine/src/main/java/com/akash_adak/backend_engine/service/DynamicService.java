@@ -1,25 +1,44 @@
 package com.akash_adak.backend_engine.service;
 
 import com.akash_adak.backend_engine.model.ApiSchema;
-import com.akash_adak.backend_engine.repository.ApiSchemaRepository;
+import com.akash_adak.backend_engine.model.DocumentPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.types.ObjectId;
 import org.everit.json.schema.Schema;
-import org.everit.json.schema.loader.SchemaLoader;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class DynamicService {
@@ -28,149 +47,446 @@ public class DynamicService {
     private MongoTemplate mongoTemplate;
 
     @Autowired
-    private ApiSchemaRepository schemaRepo;
+    private SchemaRegistry schemaRegistry;
+
+    @Autowired
+    private RequestLogWriter requestLogWriter;
+
+    @Autowired
+    private QueryCostGuard queryCostGuard;
+
+    @Autowired
+    private ApiLatencyMetrics apiLatencyMetrics;
+
+    @Autowired
+    private StageTimings stageTimings;
+
+    @Value("${app.data.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.data.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Value("${app.data.max-bulk-size:10000}")
+    private int maxBulkSize;
+
+    @Value("${app.data.bulk-chunk-size:1000}")
+    private int bulkChunkSize;
 
     private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
 
     /** CREATE DOCUMENT **/
     public Map<String, Object> createDocument(String apiName, Map<String, Object> payload, String userId) {
-        long start = System.currentTimeMillis();
-        ApiSchema schema = validateApi(apiName);
+        long start = System.nanoTime();
+        try {
+            SchemaRegistry.CompiledSchema schema = schemaRegistry.resolve(apiName);
+            long lap = stageTimings.lap("schema", start);
 
-        if (payload.containsKey("password")) {
-            payload.put("password", encoder.encode((String) payload.get("password")));
-        }
+            if (payload.containsKey("password")) {
+                payload.put("password", encoder.encode((String) payload.get("password")));
+                lap = stageTimings.lap("hash", lap);
+            }
 
-        validateAgainstJsonSchema(schema.getSchemaJson(), payload);
+            validateAgainstJsonSchema(schema.getValidator(), payload);
+            lap = stageTimings.lap("validate", lap);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> saved = mongoTemplate.save(payload, apiName);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> saved = mongoTemplate.save(payload, apiName);
+            stageTimings.lap("mongo", lap);
 
-        logRequest(userId, apiName, "CREATE", 200, System.currentTimeMillis() - start);
-        return normalizeDocument(saved);
+            logRequest(userId, apiName, "CREATE", 200, start);
+            return normalizeDocument(saved);
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "CREATE", statusOf(e), start);
+            throw e;
+        }
     }
 
-    /** READ ALL DOCUMENTS **/
-    public List<Map<String, Object>> readAllDocuments(String apiName, String userId) {
-        long start = System.currentTimeMillis();
-        validateApi(apiName);
+    /** BULK CREATE (validated up front, written with unordered bulk inserts in chunks) **/
+    public Map<String, Object> bulkCreateDocuments(String apiName, List<Map<String, Object>> payloads, String userId) {
+        long start = System.nanoTime();
+        try {
+            SchemaRegistry.CompiledSchema schema = schemaRegistry.resolve(apiName);
+            long lap = stageTimings.lap("schema", start);
 
-        List<Map<String, Object>> docs = mongoTemplate.findAll(Map.class, apiName)
-                .stream()
-                .map(d -> {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> doc = (Map<String, Object>) d;
-                    return normalizeDocument(doc);
-                })
-                .collect(Collectors.toList());
+            if (payloads == null || payloads.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk payload cannot be empty");
+            }
+            if (payloads.size() > maxBulkSize) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Bulk payload exceeds " + maxBulkSize + " documents");
+            }
 
-        logRequest(userId, apiName, "READ_ALL", 200, System.currentTimeMillis() - start);
-        return docs;
-    }
+            List<Map<String, Object>> results = new ArrayList<>(payloads.size());
+            List<Integer> validIndexes = new ArrayList<>();
+            List<Map<String, Object>> valid = new ArrayList<>();
+
+            for (int i = 0; i < payloads.size(); i++) {
+                Map<String, Object> payload = payloads.get(i);
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("index", i);
+                results.add(result);
+                try {
+                    if (payload == null) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Document must be a JSON object");
+                    }
+                    if (payload.containsKey("password")) {
+                        payload.put("password", encoder.encode((String) payload.get("password")));
+                    }
+                    validateAgainstJsonSchema(schema.getValidator(), payload);
+                    // Assign ids here so they can be reported back without reading the documents again.
+                    payload.putIfAbsent("_id", new ObjectId());
+                    validIndexes.add(i);
+                    valid.add(payload);
+                } catch (ResponseStatusException | ClassCastException e) {
+                    result.put("status", 400);
+                    result.put("error", e instanceof ResponseStatusException
+                            ? ((ResponseStatusException) e).getReason() : e.getMessage());
+                }
+            }
 
-    /** SEARCH **/
-    public List<Map<String, Object>> searchDocuments(String apiName, Map<String, Object> searchFields, String userId) {
-        long start = System.currentTimeMillis();
-        validateApi(apiName);
+            // Hashing and validation are interleaved per document, so they are reported together.
+            lap = stageTimings.lap("validate", lap);
+
+            int inserted = 0;
+            for (int from = 0; from < valid.size(); from += bulkChunkSize) {
+                int to = Math.min(from + bulkChunkSize, valid.size());
+                List<Map<String, Object>> chunk = valid.subList(from, to);
+                Map<Integer, String> failures = new HashMap<>();
+                try {
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, apiName).insert(chunk).execute();
+                } catch (BulkOperationException e) {
+                    for (BulkWriteError error : e.getErrors()) {
+                        failures.put(error.getIndex(), error.getMessage());
+                    }
+                }
+                for (int j = 0; j < chunk.size(); j++) {
+                    Map<String, Object> result = results.get(validIndexes.get(from + j));
+                    String failure = failures.get(j);
+                    if (failure == null) {
+                        result.put("status", 201);
+                        result.put("_id", normalizeId(chunk.get(j).get("_id")));
+                        inserted++;
+                    } else {
+                        result.put("status", 409);
+                        result.put("error", failure);
+                    }
+                }
+            }
 
-        if (searchFields == null || searchFields.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search criteria cannot be empty");
-        }
+            stageTimings.lap("mongo", lap);
 
-        Query query = new Query();
-        searchFields.forEach((key, value) -> query.addCriteria(Criteria.where(key).is(convertIdIfNeeded(value))));
+            int failed = payloads.size() - inserted;
+            int status = failed == 0 ? 200 : inserted == 0 ? 400 : 207;
+            logRequest(userId, apiName, "BULK_CREATE", status, start);
 
-        List<Map<String, Object>> results = mongoTemplate.find(query, Map.class, apiName)
-                .stream()
-                .map(d -> {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> doc = (Map<String, Object>) d;
-                    return normalizeDocument(doc);
-                })
-                .collect(Collectors.toList());
-
-        if (results.isEmpty()) {
-            logRequest(userId, apiName, "SEARCH", 404, System.currentTimeMillis() - start);
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No documents found matching criteria");
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("inserted", inserted);
+            response.put("failed", failed);
+            response.put("results", results);
+            return response;
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "BULK_CREATE", statusOf(e), start);
+            throw e;
         }
+    }
 
-        logRequest(userId, apiName, "SEARCH", 200, System.currentTimeMillis() - start);
-        return results;
+    /**
+     * Parses a newline-delimited JSON body one document at a time, so an
+     * oversized body is rejected as soon as it passes the bulk limit rather
+     * than after being read to the end. The accepted documents are collected
+     * into a list for {@link #bulkCreateDocuments}; a {@code null} line is kept
+     * and reported there as a per-item failure.
+     */
+    public List<Map<String, Object>> readNdjson(InputStream body) {
+        List<Map<String, Object>> docs = new ArrayList<>();
+        try (MappingIterator<Map<String, Object>> it = objectMapper
+                .readerFor(new TypeReference<Map<String, Object>>() {})
+                .readValues(body)) {
+            while (it.hasNext()) {
+                if (docs.size() >= maxBulkSize) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Bulk payload exceeds " + maxBulkSize + " documents");
+                }
+                docs.add(it.next());
+            }
+        } catch (IOException | RuntimeJsonMappingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed NDJSON body: " + e.getMessage());
+        }
+        return docs;
     }
 
-    /** UPDATE **/
-    public Map<String, Object> updateDocument(String apiName, Map<String, Object> payload, String userId) {
-        long start = System.currentTimeMillis();
-        validateApi(apiName);
+    /** READ ALL DOCUMENTS (keyset-paginated on _id) **/
+    public DocumentPage readAllDocuments(String apiName, Integer limit, String after, String fields, String userId) {
+        long start = System.nanoTime();
+        try {
+            validateApi(apiName);
+            long lap = stageTimings.lap("schema", start);
 
-        if (payload == null || payload.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Update payload cannot be empty");
+            int pageSize = clampPageSize(limit);
+            Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+            if (after != null && !after.isBlank()) {
+                query.addCriteria(ContinuationToken.after(after));
+            }
+            FieldProjection.apply(query, fields);
+            // Fetch one extra document to know whether another page exists.
+            query.limit(pageSize + 1);
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            List<Map<String, Object>> raw = (List) mongoTemplate.find(query, Map.class, apiName);
+            stageTimings.lap("mongo", lap);
+
+            String nextToken = null;
+            if (raw.size() > pageSize) {
+                raw = raw.subList(0, pageSize);
+                nextToken = ContinuationToken.encode(raw.get(pageSize - 1).get("_id"));
+            }
+            List<Map<String, Object>> docs = raw.stream()
+                    .map(DynamicService::normalizeDocument)
+                    .collect(Collectors.toList());
+
+            logRequest(userId, apiName, "READ_ALL", 200, start);
+            return new DocumentPage(docs, nextToken);
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "READ_ALL", statusOf(e), start);
+            throw e;
+        }
+    }
+
+    /** SEARCH **/
+    public List<Map<String, Object>> searchDocuments(String apiName, Map<String, Object> searchFields,
+                                                     Integer limit, String fields, String userId) {
+        long start = System.nanoTime();
+        try {
+            validateApi(apiName);
+            long lap = stageTimings.lap("schema", start);
+
+            SearchFilter filter = SearchFilter.compile(searchFields);
+            queryCostGuard.check(apiName, filter);
+            lap = stageTimings.lap("plan", lap);
+
+            Query query = filter.toQuery();
+            FieldProjection.apply(query, fields);
+            query.limit(clampPageSize(filter.getLimit() != null ? filter.getLimit() : limit));
+
+            List<Map<String, Object>> results = mongoTemplate.find(query, Map.class, apiName)
+                    .stream()
+                    .map(d -> {
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> doc = (Map<String, Object>) d;
+                        return normalizeDocument(doc);
+                    })
+                    .collect(Collectors.toList());
+            stageTimings.lap("mongo", lap);
+
+            if (results.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No documents found matching criteria");
+            }
+
+            logRequest(userId, apiName, "SEARCH", 200, start);
+            return results;
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "SEARCH", statusOf(e), start);
+            throw e;
         }
+    }
 
+    /** STREAM (NDJSON export; documents are written as the cursor yields them) **/
+    public StreamingResponseBody streamDocuments(String apiName, Map<String, Object> searchFields, String fields,
+                                                 String userId) {
+        long start = System.nanoTime();
+        String operation = searchFields == null ? "STREAM_ALL" : "STREAM_SEARCH";
         Query query = new Query();
-        if (payload.containsKey("_id")) {
-            query.addCriteria(Criteria.where("_id").is(convertIdIfNeeded(payload.get("_id"))));
+        try {
+            validateApi(apiName);
+            if (searchFields != null) {
+                SearchFilter filter = SearchFilter.compile(searchFields);
+                queryCostGuard.check(apiName, filter);
+                query = filter.toQuery();
+                if (filter.getLimit() != null) query.limit(filter.getLimit());
+            }
+            FieldProjection.apply(query, fields);
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, operation, statusOf(e), start);
+            throw e;
         }
+        query.cursorBatchSize(STREAM_BATCH_SIZE);
+        Query streamQuery = query;
+
+        return out -> {
+            long written = 0;
+            try (Stream<Map> cursor = mongoTemplate.stream(streamQuery, Map.class, apiName)) {
+                Iterator<Map> it = cursor.iterator();
+                while (it.hasNext()) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> doc = normalizeDocument(it.next());
+                    out.write(objectMapper.writeValueAsBytes(doc));
+                    out.write('\n');
+                    // Flush the first document straight away, then once per cursor batch.
+                    if (++written % STREAM_BATCH_SIZE == 1) out.flush();
+                }
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                // The 200 header is already sent; the log and timer still record the broken stream.
+                logRequest(userId, apiName, operation, 500, start);
+                throw e;
+            }
+            logRequest(userId, apiName, operation, 200, start);
+        };
+    }
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> existing = mongoTemplate.findOne(query, Map.class, apiName);
+    /** UPDATE (single round trip: $set/$unset applied server-side, new document returned) **/
+    public Map<String, Object> updateDocument(String apiName, Map<String, Object> payload, String field, String userId) {
+        long start = System.nanoTime();
+        try {
+            validateApi(apiName);
+            long lap = stageTimings.lap("schema", start);
+
+            String matchField = resolveMatchField(payload, field);
+            Query query = new Query(Criteria.where(matchField).is(convertIdIfNeeded(payload.get(matchField))));
+            Update update = buildUpdate(payload, matchField);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> updated = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), Map.class, apiName);
+            stageTimings.lap("mongo", lap);
+
+            if (updated == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No document found with given criteria");
+            }
 
-        if (existing == null) {
-            logRequest(userId, apiName, "UPDATE", 404, System.currentTimeMillis() - start);
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No document found with given criteria");
+            logRequest(userId, apiName, "UPDATE", 200, start);
+            return normalizeDocument(updated);
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "UPDATE", statusOf(e), start);
+            throw e;
         }
+    }
 
-        Object internalId = existing.get("_id");
-        existing.putAll(payload);
-        existing.put("_id", internalId);
+    /** UPDATE ALL documents whose match field equals the payload value **/
+    public Map<String, Object> updateAllDocuments(String apiName, Map<String, Object> payload, String field, String userId) {
+        long start = System.nanoTime();
+        try {
+            validateApi(apiName);
+            long lap = stageTimings.lap("schema", start);
 
-        Map<String, Object> updated = mongoTemplate.save(existing, apiName);
-        logRequest(userId, apiName, "UPDATE", 200, System.currentTimeMillis() - start);
+            String matchField = resolveMatchField(payload, field);
+            Query query = new Query(Criteria.where(matchField).is(convertIdIfNeeded(payload.get(matchField))));
+            Update update = buildUpdate(payload, matchField);
 
-        return normalizeDocument(updated);
+            UpdateResult result = mongoTemplate.updateMulti(query, update, apiName);
+            stageTimings.lap("mongo", lap);
+            if (result.getMatchedCount() == 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No document found with given criteria");
+            }
+
+            logRequest(userId, apiName, "UPDATE_ALL", 200, start);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("matchedCount", result.getMatchedCount());
+            response.put("modifiedCount", result.getModifiedCount());
+            return response;
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "UPDATE_ALL", statusOf(e), start);
+            throw e;
+        }
     }
 
     /** DELETE **/
     public void deleteDocument(String apiName, Map<String, Object> deleteFields, String userId) {
-        long start = System.currentTimeMillis();
-        validateApi(apiName);
+        long start = System.nanoTime();
+        try {
+            validateApi(apiName);
+            long lap = stageTimings.lap("schema", start);
+
+            if (deleteFields == null || deleteFields.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delete criteria cannot be empty");
+            }
+
+            Query query = new Query();
+            deleteFields.forEach((key, value) -> query.addCriteria(Criteria.where(key).is(convertIdIfNeeded(value))));
+
+            var result = mongoTemplate.remove(query, Map.class, apiName);
+            stageTimings.lap("mongo", lap);
+            if (result.getDeletedCount() == 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No document found for delete");
+            }
 
-        if (deleteFields == null || deleteFields.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delete criteria cannot be empty");
+            logRequest(userId, apiName, "DELETE", 200, start);
+        } catch (RuntimeException e) {
+            logRequest(userId, apiName, "DELETE", statusOf(e), start);
+            throw e;
         }
+    }
 
-        Query query = new Query();
-        deleteFields.forEach((key, value) -> query.addCriteria(Criteria.where(key).is(convertIdIfNeeded(value))));
+    /** HELPERS **/
 
-        var result = mongoTemplate.remove(query, Map.class, apiName);
-        if (result.getDeletedCount() == 0) {
-            logRequest(userId, apiName, "DELETE", 404, System.currentTimeMillis() - start);
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No document found for delete");
+    /**
+     * Picks the payload key that identifies the target document(s): the requested
+     * field when present, otherwise {@code _id}.
+     */
+    private String resolveMatchField(Map<String, Object> payload, String field) {
+        if (payload == null || payload.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Update payload cannot be empty");
         }
+        if (field != null && !field.isBlank() && payload.containsKey(field)) return field;
+        if (payload.containsKey("_id")) return "_id";
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Update payload must contain '" + (field == null || field.isBlank() ? "_id" : field) + "' to match on");
+    }
 
-        logRequest(userId, apiName, "DELETE", 200, System.currentTimeMillis() - start);
+    /** Non-null values become $set, explicit nulls become $unset; the match key itself is left alone. */
+    private Update buildUpdate(Map<String, Object> payload, String matchField) {
+        Update update = new Update();
+        payload.forEach((key, value) -> {
+            if (key.equals(matchField) || key.equals("_id")) return;
+            if (value == null) {
+                update.unset(key);
+            } else if (key.equals("password") && value instanceof String) {
+                update.set(key, encoder.encode((String) value));
+            } else {
+                update.set(key, value);
+            }
+        });
+        if (update.getUpdateObject().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Update payload has no fields to change");
+        }
+        return update;
     }
 
-    /** HELPERS **/
+    private int clampPageSize(Integer requested) {
+        if (requested == null) return defaultPageSize;
+        if (requested < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        return Math.min(requested, maxPageSize);
+    }
 
     private ApiSchema validateApi(String apiName) {
-        ApiSchema api = schemaRepo.findByName(apiName);
-        if (api == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                "API '" + apiName + "' not registered in Platform service");
-        return api;
+        return schemaRegistry.resolve(apiName).getApi();
     }
 
-    private void validateAgainstJsonSchema(String schemaJson, Map<String, Object> payload) {
+    static void validateAgainstJsonSchema(Schema schema, Map<String, Object> payload) {
         try {
-            JSONObject rawSchema = new JSONObject(schemaJson);
-            Schema schema = SchemaLoader.load(rawSchema);
             schema.validate(new JSONObject(payload));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payload validation failed: " + e.getMessage());
         }
     }
 
-    private void logRequest(String userId, String apiName, String operation, int status, long responseTime) {
+    private static int statusOf(RuntimeException e) {
+        return e instanceof ResponseStatusException ? ((ResponseStatusException) e).getStatusCode().value() : 500;
+    }
+
+    /** Writes the request log and records the latency timer; every operation ends here, failed or not. */
+    private void logRequest(String userId, String apiName, String operation, int status, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        // Unregistered names share the "other" tag so they cannot use up the per-API series.
+        apiLatencyMetrics.record(schemaRegistry.isLoaded(apiName) ? apiName : null, operation, status, elapsedNanos);
+
+        long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
         Map<String, Object> log = new HashMap<>();
         log.put("userId", userId);
         log.put("apiName", apiName);
@@ -178,10 +494,11 @@ public class DynamicService {
         log.put("status", status);
         log.put("responseTime", responseTime);
         log.put("timestamp", LocalDateTime.now());
-        mongoTemplate.save(log, "logs");
+        requestLogWriter.submit(log);
+        stageTimings.lap("log", startNanos + elapsedNanos);
     }
 
-    private Object convertIdIfNeeded(Object id) {
+    static Object convertIdIfNeeded(Object id) {
         if (id instanceof String) {
             String idStr = (String) id;
             try {
@@ -194,7 +511,11 @@ public class DynamicService {
         return id;
     }
 
-    private Map<String, Object> normalizeDocument(Map<String, Object> doc) {
+    static Object normalizeId(Object id) {
+        return id instanceof ObjectId ? id.toString() : id;
+    }
+
+    static Map<String, Object> normalizeDocument(Map<String, Object> doc) {
         if (doc.containsKey("_id")) {
             Object id = doc.get("_id");
             if (id instanceof ObjectId) doc.put("_id", id.toString());
@@ -0,0 +1,54 @@
+package com.akash_adak.backend_engine.service;
+
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Turns a {@code fields} request parameter into a Mongo projection.
+ * {@code fields=name,email} returns only those fields, {@code fields=-password,-bio}
+ * returns everything else. The two forms cannot be mixed, and {@code _id} is
+ * always returned because paging keys on it.
+ */
+final class FieldProjection {
+
+    private static final int MAX_FIELDS = 100;
+
+    private FieldProjection() {
+    }
+
+    static void apply(Query query, String fields) {
+        if (fields == null || fields.isBlank()) return;
+
+        String[] names = fields.split(",");
+        if (names.length > MAX_FIELDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many fields in projection");
+        }
+
+        Field projection = query.fields();
+        Boolean exclude = null;
+        for (String raw : names) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+
+            boolean negated = name.startsWith("-");
+            if (negated) name = name.substring(1);
+            if (name.isEmpty() || name.startsWith("$")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid field name in projection: " + raw);
+            }
+            if (exclude != null && exclude != negated) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "fields cannot mix included and excluded names");
+            }
+            exclude = negated;
+
+            if (name.equals("_id")) {
+                if (negated) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "_id cannot be excluded");
+                continue;
+            }
+            if (negated) projection.exclude(name);
+            else projection.include(name);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.model.User;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts data-API hits per (API key, API name) with striped {@link LongAdder}s,
+ * so the request path never takes a lock or touches MySQL. Pending counts are
+ * drained every few seconds into {@code user_api_usage} with one batched upsert.
+ */
+@Service
+public class HitCounterService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO user_api_usage (user_id, api_name, hits, last_hit) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE hits = hits + VALUES(hits), last_hit = GREATEST(last_hit, VALUES(last_hit))";
+
+    // Hits not yet written to MySQL; drained by flush().
+    private final ConcurrentHashMap<UsageKey, LongAdder> pending = new ConcurrentHashMap<>();
+    // Running total per API key for the X-Total-Hits header.
+    private final Cache<String, LongAdder> totals;
+    // API key -> owner email, the user id used by the request logs.
+    private final Cache<String, Optional<String>> owners;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final Counter flushed;
+    private final Counter orphaned;
+
+    public HitCounterService(JdbcTemplate jdbcTemplate,
+                             UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.rate-limit.max-buckets:100000}") long maxKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(RateLimiterService.REFILL_PERIOD)
+                .build();
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        this.flushed = Counter.builder("reqnest.usage.flushed")
+                .description("Hits written to user_api_usage")
+                .register(meterRegistry);
+        this.orphaned = Counter.builder("reqnest.usage.orphaned")
+                .description("Hits dropped because their API key has no owning user")
+                .register(meterRegistry);
+    }
+
+    /** Records one hit and returns the key's running total. */
+    public long increment(String apiKey, String apiName) {
+        addPending(new UsageKey(apiKey, apiName == null ? "" : apiName), 1);
+        LongAdder total = totals.get(apiKey, k -> new LongAdder());
+        total.increment();
+        return total.sum();
+    }
+
+    public long getHitCount(String apiKey) {
+        LongAdder total = totals.getIfPresent(apiKey);
+        return total == null ? 0L : total.sum();
+    }
+
+    /**
+     * Adds to the live adder for a key. flush() may retire an adder as idle
+     * while a hit is landing on it; then whoever notices (here, or flush()
+     * itself) moves what it holds to the live adder. sumThenReset hands each
+     * hit to exactly one of them.
+     */
+    private void addPending(UsageKey key, long hits) {
+        LongAdder adder = pending.computeIfAbsent(key, k -> new LongAdder());
+        adder.add(hits);
+        while (pending.get(key) != adder) {
+            long moved = adder.sumThenReset();
+            if (moved == 0) return;
+            adder = pending.computeIfAbsent(key, k -> new LongAdder());
+            adder.add(moved);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.usage.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        List<UsageKey> keys = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        for (Map.Entry<UsageKey, LongAdder> entry : pending.entrySet()) {
+            UsageKey key = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long hits = adder.sumThenReset();
+            if (hits == 0) {
+                // Idle since the last flush. Hits that raced with the removal are moved back.
+                if (pending.remove(key, adder)) {
+                    long late = adder.sumThenReset();
+                    if (late > 0) addPending(key, late);
+                }
+                continue;
+            }
+            Optional<String> owner;
+            try {
+                owner = owners.get(key.apiKey, k -> userRepository.findByApikey(k).map(User::getEmail));
+            } catch (Exception e) {
+                // Keep the hits for the next flush rather than dropping them.
+                addPending(key, hits);
+                System.err.println("❌ Could not resolve owner of API key for usage flush: " + e.getMessage());
+                continue;
+            }
+            if (owner.isEmpty()) {
+                orphaned.increment(hits);
+                continue;
+            }
+            rows.add(new Object[]{owner.get(), key.apiName, hits, now});
+            keys.add(key);
+        }
+        if (rows.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            flushed.increment(rows.stream().mapToLong(row -> (Long) row[2]).sum());
+        } catch (Exception e) {
+            // Put the counts back so the next flush retries them.
+            for (int i = 0; i < keys.size(); i++) {
+                addPending(keys.get(i), (Long) rows.get(i)[2]);
+            }
+            System.err.println("❌ Failed to flush " + rows.size() + " usage counters: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static final class UsageKey {
+        private final String apiKey;
+        private final String apiName;
+
+        UsageKey(String apiKey, String apiName) {
+            this.apiKey = apiKey;
+            this.apiName = apiName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof UsageKey)) return false;
+            UsageKey other = (UsageKey) o;
+            return apiKey.equals(other.apiKey) && apiName.equals(other.apiName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * apiKey.hashCode() + apiName.hashCode();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.akash_adak.backend_engine.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory Bucket4j buckets; quotas are per JVM. An evicted bucket is rebuilt
+ * full the next time its key shows up, so a bucket only expires once it would
+ * have refilled completely anyway, plus an idle grace period. The size bound
+ * is a last resort against memory growth; only known API keys get a bucket,
+ * so it should sit well above the number of active keys.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TieredBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LocalRateLimitStore(@Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                               @Value("${app.rate-limit.bucket-idle-timeout:PT10M}") Duration idleTimeout,
+                               MeterRegistry meterRegistry) {
+        this(maxBuckets, idleTimeout, meterRegistry, Ticker.systemTicker());
+    }
+
+    LocalRateLimitStore(long maxBuckets, Duration idleTimeout, MeterRegistry meterRegistry, Ticker ticker) {
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(maxBuckets)
+                .expireAfter(new UntilRefilled(idleTimeout.toNanos()))
+                .removalListener((String key, TieredBucket bucket, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        meterRegistry.counter("reqnest.rate_limit.buckets.evicted", "cause", cause.name()).increment();
+                    }
+                })
+                .build();
+        Gauge.builder("reqnest.rate_limit.buckets", buckets, Cache::estimatedSize)
+                .description("Local rate-limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String apiKey, String tier) {
+        ConsumptionProbe[] probe = new ConsumptionProbe[1];
+        // Consume inside compute so the expiry is computed from the bucket after this request.
+        buckets.asMap().compute(apiKey, (key, existing) -> {
+            // Keep the existing bucket (and its remaining tokens) unless the tier really changed
+            TieredBucket bucket = existing != null && existing.tier.equals(tier)
+                    ? existing
+                    : new TieredBucket(tier, capacity(tier));
+            probe[0] = bucket.bucket.tryConsumeAndReturnRemaining(1);
+            return bucket;
+        });
+        return new RateLimitResult(probe[0].isConsumed(), probe[0].getRemainingTokens(), probe[0].getNanosToWaitForRefill());
+    }
+
+    /** Daily bucket size for a tier; the admission benchmark overrides it to measure accepted requests. */
+    protected long capacity(String tier) {
+        return RateLimiterService.capacityFor(tier);
+    }
+
+    private static final class TieredBucket {
+        private final String tier;
+        private final long capacity;
+        private final Bucket bucket;
+
+        TieredBucket(String tier, long capacity) {
+            this.tier = tier;
+            this.capacity = capacity;
+            Bandwidth limit = Bandwidth.classic(capacity, Refill.greedy(capacity, RateLimiterService.REFILL_PERIOD));
+            this.bucket = Bucket.builder().addLimit(limit).build();
+        }
+
+        /** Time until greedy refill brings the bucket back to capacity. */
+        long nanosUntilFull() {
+            long missing = Math.max(0, capacity - bucket.getAvailableTokens());
+            return missing * (RateLimiterService.REFILL_PERIOD.toNanos() / capacity);
+        }
+    }
+
+    /** Keeps a bucket for as long as evicting it would hand back tokens, then for the idle grace. */
+    private static final class UntilRefilled implements Expiry<String, TieredBucket> {
+        private final long graceNanos;
+
+        UntilRefilled(long graceNanos) {
+            this.graceNanos = graceNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TieredBucket bucket, long currentTime) {
+            return bucket.nanosUntilFull() + graceNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TieredBucket bucket, long currentTime, long currentDuration) {
+            return bucket.nanosUntilFull() + graceNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, TieredBucket bucket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.akash_adak.backend_engine.service;
+
+/**
+ * Request limits for each plan, read by both the daily token bucket and the
+ * per-API sliding-window quota. The quota is a share of the daily allowance,
+ * so a single API cannot use up the whole day within one window.
+ */
+enum PlanTier {
+    FREE(30, 10),
+    PREMIUM(100, 40),
+    ENTERPRISE(1000, 300);
+
+    /** Token-bucket capacity, refilled over {@link RateLimiterService#REFILL_PERIOD}. */
+    final long dailyRequests;
+    /** Requests per API within one {@code app.quota.window}. */
+    final int perApiQuota;
+
+    PlanTier(long dailyRequests, int perApiQuota) {
+        this.dailyRequests = dailyRequests;
+        this.perApiQuota = perApiQuota;
+    }
+
+    static PlanTier of(String tier) {
+        switch (tier == null ? "free" : tier) {
+            case "premium":
+                return PREMIUM;
+            case "enterprise":
+                return ENTERPRISE;
+            default: // free tier
+                return FREE;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.akash_adak.backend_engine.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rejects searches that would scan a large collection. Once a collection is
+ * past {@code app.data.search.unindexed-scan-limit} documents, a filter has to
+ * go through the leading field of some index, and a sort has to start with
+ * one. Index layout and the estimated document count are cached per
+ * collection for a short time; a stale entry keeps serving while a single
+ * caller reloads it, so searches never wait on each other.
+ */
+@Service
+public class QueryCostGuard {
+
+    private final MongoTemplate mongoTemplate;
+    private final long scanLimit;
+    private final long cacheTtlMs;
+    private final ConcurrentHashMap<String, CollectionStats> stats = new ConcurrentHashMap<>();
+    // Bumped by forget() so a load that raced with an index change is not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    public QueryCostGuard(MongoTemplate mongoTemplate,
+                          @Value("${app.data.search.unindexed-scan-limit:10000}") long scanLimit,
+                          @Value("${app.data.search.stats-ttl-ms:60000}") long cacheTtlMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.scanLimit = scanLimit;
+        this.cacheTtlMs = cacheTtlMs;
+    }
+
+    void check(String apiName, SearchFilter filter) {
+        CollectionStats current = statsFor(apiName);
+        if (current.documentCount <= scanLimit) return;
+
+        if (!filter.isServedBy(current.indexedFields)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Search on '" + apiName + "' must filter on an indexed field " + current.indexedFields
+                            + " because the collection holds more than " + scanLimit + " documents");
+        }
+        Sort sort = filter.getSort();
+        if (sort.isSorted()) {
+            String first = sort.iterator().next().getProperty();
+            if (!current.indexedFields.contains(first)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Search on '" + apiName + "' must sort on an indexed field " + current.indexedFields
+                                + " because the collection holds more than " + scanLimit + " documents");
+            }
+        }
+    }
+
+    private CollectionStats statsFor(String apiName) {
+        CollectionStats cached = stats.get(apiName);
+        if (cached != null && (!cached.isExpired() || !cached.refreshing.compareAndSet(false, true))) {
+            return cached;
+        }
+        // A miss, or this caller won the refresh of an expired entry; load outside any map lock.
+        long loadedAt = generation.get();
+        CollectionStats fresh;
+        try {
+            fresh = load(apiName);
+        } catch (RuntimeException e) {
+            if (cached != null) cached.refreshing.set(false);
+            throw e;
+        }
+        if (generation.get() == loadedAt) stats.put(apiName, fresh);
+        return fresh;
+    }
+
+    /** Drops cached stats, e.g. after indexes were rebuilt. */
+    public void forget(String apiName) {
+        generation.incrementAndGet();
+        stats.remove(apiName);
+    }
+
+    public void forgetAll() {
+        generation.incrementAndGet();
+        stats.clear();
+    }
+
+    private CollectionStats load(String apiName) {
+        Set<String> indexed = new HashSet<>();
+        for (IndexInfo info : mongoTemplate.indexOps(apiName).getIndexInfo()) {
+            if (!info.getIndexFields().isEmpty()) indexed.add(info.getIndexFields().get(0).getKey());
+        }
+        long count = mongoTemplate.getCollection(apiName).estimatedDocumentCount();
+        return new CollectionStats(indexed, count, System.currentTimeMillis() + cacheTtlMs);
+    }
+
+    private static final class CollectionStats {
+        private final Set<String> indexedFields;
+        private final long documentCount;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CollectionStats(Set<String> indexedFields, long documentCount, long expiresAt) {
+            this.indexedFields = indexedFields;
+            this.documentCount = documentCount;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.akash_adak.backend_engine.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user, per-API sliding-window quota. Each key owns one {@code int[]} ring
+ * of time buckets plus a running total, so memory per key is fixed no matter
+ * how many hits it takes, and the number of keys is capped by the cache size.
+ * Limits come from {@link PlanTier} and sit below the daily bucket, so the
+ * quota binds before one API can use up the whole day.
+ */
+@Service
+public class QuotaService {
+
+    private final Cache<String, Window> windows;
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public QuotaService(@Value("${app.quota.window:PT1H}") Duration window,
+                        @Value("${app.quota.buckets:12}") int bucketCount,
+                        @Value("${app.quota.max-keys:1000000}") long maxKeys,
+                        MeterRegistry meterRegistry) {
+        this(window, bucketCount, maxKeys, meterRegistry, System::currentTimeMillis);
+    }
+
+    QuotaService(Duration window, int bucketCount, long maxKeys, MeterRegistry meterRegistry, LongSupplier clock) {
+        if (bucketCount < 1 || window.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("Quota window must span at least one millisecond per bucket");
+        }
+        this.bucketCount = bucketCount;
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+        Gauge.builder("reqnest.quota.windows", windows, Cache::estimatedSize)
+                .description("Sliding-window quota keys held in memory")
+                .register(meterRegistry);
+    }
+
+    /** Counts the request if the user still has quota for this API in the current window. */
+    public boolean allowRequest(String userId, String apiName, String tier) {
+        long now = currentBucket();
+        Window window = windows.get(key(userId, apiName), k -> new Window(bucketCount, now));
+        return window.tryAcquire(now, limitFor(tier));
+    }
+
+    public int remainingHits(String userId, String apiName, String tier) {
+        Window window = windows.getIfPresent(key(userId, apiName));
+        int used = window == null ? 0 : window.used(currentBucket());
+        return Math.max(limitFor(tier) - used, 0);
+    }
+
+    /** Gives back a slot taken by {@link #allowRequest} for a request that was then refused elsewhere. */
+    public void release(String userId, String apiName) {
+        Window window = windows.getIfPresent(key(userId, apiName));
+        if (window != null) window.release(currentBucket());
+    }
+
+    /** Seconds until the oldest bucket leaves the window, the earliest a rejected caller can succeed. */
+    public long retryAfterSeconds() {
+        long untilNextBucket = bucketMillis - clock.getAsLong() % bucketMillis;
+        return Math.max(1, (untilNextBucket + 999) / 1000);
+    }
+
+    /** Requests per API per window for a tier; the admission benchmark overrides it to measure accepted requests. */
+    protected int limitFor(String tier) {
+        return PlanTier.of(tier).perApiQuota;
+    }
+
+    private long currentBucket() {
+        return clock.getAsLong() / bucketMillis;
+    }
+
+    private static String key(String userId, String apiName) {
+        return userId + '\0' + apiName;
+    }
+
+    /** Ring of per-bucket counts; slot {@code b % length} holds absolute bucket {@code b}. */
+    static final class Window {
+        private final int[] counts;
+        private long head;
+        private int total;
+
+        Window(int buckets, long now) {
+            this.counts = new int[buckets];
+            this.head = now;
+        }
+
+        synchronized boolean tryAcquire(long now, int limit) {
+            advance(now);
+            if (total >= limit) return false;
+            counts[(int) (now % counts.length)]++;
+            total++;
+            return true;
+        }
+
+        synchronized void release(long now) {
+            advance(now);
+            int slot = (int) (now % counts.length);
+            if (counts[slot] > 0) {
+                counts[slot]--;
+                total--;
+            }
+        }
+
+        synchronized int used(long now) {
+            advance(now);
+            return total;
+        }
+
+        // Clears the buckets that slid out of the window since the last call.
+        private void advance(long now) {
+            if (now <= head) return;
+            long steps = Math.min(now - head, counts.length);
+            for (long i = 1; i <= steps; i++) {
+                int slot = (int) ((head + i) % counts.length);
+                total -= counts[slot];
+                counts[slot] = 0;
+            }
+            head = now;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.akash_adak.backend_engine.service;
+
+/** Outcome of one rate-limit check, independent of where the bucket lives. */
+public class RateLimitResult {
+
+    /** Shared answer for API keys that belong to no user or plan. */
+    public static final RateLimitResult UNKNOWN_KEY = new RateLimitResult(false, 0, 0);
+
+    private final boolean consumed;
+    private final long remainingTokens;
+    private final long nanosToWaitForRefill;
+
+    public RateLimitResult(boolean consumed, long remainingTokens, long nanosToWaitForRefill) {
+        this.consumed = consumed;
+        this.remainingTokens = remainingTokens;
+        this.nanosToWaitForRefill = nanosToWaitForRefill;
+    }
+
+    public boolean isUnknownKey() {
+        return this == UNKNOWN_KEY;
+    }
+
+    public boolean isConsumed() {
+        return consumed;
+    }
+
+    public long getRemainingTokens() {
+        return remainingTokens;
+    }
+
+    public long getNanosToWaitForRefill() {
+        return nanosToWaitForRefill;
+    }
+}
@@ -0,0 +1,11 @@
+package com.akash_adak.backend_engine.service;
+
+/**
+ * Where token buckets live. {@code app.rate-limit.store=local} keeps them in
+ * this JVM (single node); {@code redis} shares them across replicas.
+ */
+public interface RateLimitStore {
+
+    /** Takes one token from the API key's bucket for the given tier. */
+    RateLimitResult tryConsume(String apiKey, String tier);
+}
@@ -2,65 +2,90 @@ package com.akash_adak.backend_engine.service;
 
 import com.akash_adak.backend_engine.model.UserPlan;
 import com.akash_adak.backend_engine.repository.UserPlanRepository;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Locale;
+import java.util.Optional;
 
 @Service
 public class RateLimiterService {
-    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, String> userTiers = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Long> hitCounts = new ConcurrentHashMap<>();
+    static final Duration REFILL_PERIOD = Duration.ofDays(1);
+
+    private final Cache<String, String> userTiers;
     private final UserPlanRepository userPlanRepository;
+    private final UserRepository userRepository;
+    private final ApiKeyFilter apiKeyFilter;
+    private final RateLimitStore rateLimitStore;
 
-    public RateLimiterService(UserPlanRepository userPlanRepository) {
+    public RateLimiterService(UserPlanRepository userPlanRepository,
+                              UserRepository userRepository,
+                              ApiKeyFilter apiKeyFilter,
+                              RateLimitStore rateLimitStore,
+                              @Value("${app.rate-limit.tier-cache-ttl-ms:60000}") long tierTtlMs,
+                              @Value("${app.rate-limit.max-buckets:100000}") long maxKeys) {
         this.userPlanRepository = userPlanRepository;
+        this.userRepository = userRepository;
+        this.apiKeyFilter = apiKeyFilter;
+        this.rateLimitStore = rateLimitStore;
+        this.userTiers = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(tierTtlMs))
+                .build();
     }
 
-    public Bucket resolveBucket(String apiKey) {
-        // Always fetch latest tier from DB
-        String currentTier = userPlanRepository.findById(apiKey)
-                .map(UserPlan::getTier)
-                .orElse("free");
+    public RateLimitResult tryConsume(String apiKey) {
+        String tier = resolveTier(apiKey);
+        if (tier == null) {
+            return RateLimitResult.UNKNOWN_KEY;
+        }
+        return rateLimitStore.tryConsume(apiKey, tier);
+    }
 
-        String cachedTier = userTiers.get(apiKey);
+    /**
+     * Tier from the local cache; MySQL is only consulted once the entry is older
+     * than the TTL. Upgrades arrive earlier through {@link #applyTierChange}.
+     * Returns null when the key belongs to no plan and no user. Keys the
+     * {@link ApiKeyFilter} has never seen are rejected without a query, and
+     * unknown keys are never cached, so they cannot push out real tiers.
+     */
+    private String resolveTier(String apiKey) {
+        String tier = userTiers.getIfPresent(apiKey);
+        if (tier != null) return tier;
+        if (!apiKeyFilter.mightContain(apiKey)) return null;
+        // A null from the loader is not stored.
+        return userTiers.get(apiKey, this::loadTier);
+    }
 
-        // If user upgraded plan → reset bucket
-        if (cachedTier == null || !cachedTier.equals(currentTier)) {
-            Bucket newBucket = createBucketForTier(currentTier);
-            buckets.put(apiKey, newBucket);
-            userTiers.put(apiKey, currentTier);
-            return newBucket;
+    private String loadTier(String apiKey) {
+        Optional<String> tier = userPlanRepository.findById(apiKey).map(UserPlan::getTier);
+        if (tier.isEmpty()) {
+            tier = userRepository.findByApikey(apiKey).map(user -> user.getTier() != null ? user.getTier() : "free");
         }
+        return tier.map(t -> t.toLowerCase(Locale.ROOT)).orElse(null);
+    }
 
-        // Otherwise, return cached bucket
-        return buckets.get(apiKey);
+    /** Lower-cased tier for a key, or null when the key is unknown. */
+    public String tierOf(String apiKey) {
+        return resolveTier(apiKey);
     }
 
-    private Bucket createBucketForTier(String tier) {
-        Bandwidth limit;
-        switch (tier) {
-            case "premium":
-                limit = Bandwidth.classic(100, Refill.greedy(100, Duration.ofDays(1)));
-                break;
-            case "enterprise":
-                limit = Bandwidth.classic(1000, Refill.greedy(1000, Duration.ofDays(1)));
-                break;
-            default: // free tier
-                limit = Bandwidth.classic(30, Refill.greedy(30, Duration.ofDays(1)));
-        }
-        return Bucket.builder().addLimit(limit).build();
+    /** Called on every replica when a plan change is announced. */
+    public void applyTierChange(String apiKey, String tier) {
+        apiKeyFilter.add(apiKey);
+        userTiers.put(apiKey, tier.toLowerCase(Locale.ROOT));
     }
 
-    public void incrementHit(String apiKey) {
-        hitCounts.put(apiKey, hitCounts.getOrDefault(apiKey, 0L) + 1);
+    /** Forgets every cached tier; they reload from MySQL on next use. */
+    public void clearTierCache() {
+        userTiers.invalidateAll();
     }
 
-    public long getHitCount(String apiKey) {
-        return hitCounts.getOrDefault(apiKey, 0L);
+    static long capacityFor(String tier) {
+        return PlanTier.of(tier).dailyRequests;
     }
 }
@@ -0,0 +1,62 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets kept in Redis so every replica draws from the same quota.
+ * Each check is a single EVALSHA of {@code scripts/token_bucket.lua}, which
+ * refills and takes a token atomically using the Redis server clock. If Redis
+ * cannot be reached, checks fall back to per-JVM buckets rather than failing
+ * the request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final DefaultRedisScript<List> script;
+    private final LocalRateLimitStore fallback;
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate,
+                               @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                               @Value("${app.rate-limit.bucket-idle-timeout:PT10M}") Duration idleTimeout,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = new LocalRateLimitStore(maxBuckets, idleTimeout, meterRegistry);
+        this.script = new DefaultRedisScript<>();
+        this.script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/token_bucket.lua")));
+        this.script.setResultType(List.class);
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String apiKey, String tier) {
+        long capacity = RateLimiterService.capacityFor(tier);
+        long periodMs = RateLimiterService.REFILL_PERIOD.toMillis();
+        // Tier is part of the key, so an upgrade starts from a full bucket like the local store does.
+        String key = KEY_PREFIX + tier + ":" + apiKey;
+        try {
+            List<?> reply = redisTemplate.execute(script, List.of(key),
+                    String.valueOf(capacity), String.valueOf(periodMs));
+            boolean consumed = ((Number) reply.get(0)).longValue() == 1;
+            long remaining = ((Number) reply.get(1)).longValue();
+            long waitMs = ((Number) reply.get(2)).longValue();
+            return new RateLimitResult(consumed, remaining, TimeUnit.MILLISECONDS.toNanos(waitMs));
+        } catch (Exception e) {
+            System.err.println("❌ Redis rate limit check failed, using local bucket: " + e.getMessage());
+            return fallback.tryConsume(apiKey, tier);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers request-log entries in a bounded queue and writes them to the
+ * {@code logs} collection from a background thread with {@code insertMany},
+ * so CRUD requests no longer pay for a second Mongo round trip. Each batch also
+ * updates the {@code usage_rollups} counters.
+ */
+@Service
+public class RequestLogWriter {
+
+    static final String LOG_COLLECTION = "logs";
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private final MongoTemplate mongoTemplate;
+    private final UsageRollupService usageRollupService;
+    private final BlockingQueue<Map<String, Object>> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public RequestLogWriter(MongoTemplate mongoTemplate,
+                            UsageRollupService usageRollupService,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.request-log.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.request-log.batch-size:500}") int batchSize,
+                            @Value("${app.request-log.flush-interval-ms:1000}") long flushIntervalMs,
+                            @Value("${app.request-log.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                            @Value("${app.request-log.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.usageRollupService = usageRollupService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+
+        Gauge.builder("reqnest.request_log.queue.depth", queue, BlockingQueue::size)
+                .description("Request-log entries waiting to be written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("reqnest.request_log.dropped")
+                .description("Request-log entries discarded because the queue was full")
+                .register(meterRegistry);
+        this.written = Counter.builder("reqnest.request_log.written")
+                .description("Request-log entries written to MongoDB")
+                .register(meterRegistry);
+        this.failed = Counter.builder("reqnest.request_log.failed")
+                .description("Request-log entries lost to MongoDB write errors")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            // Dashboard stats match on userId and sort by newest first.
+            mongoTemplate.indexOps(LOG_COLLECTION).createIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.DESC)
+                    .named("userId_timestamp"));
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not ensure index on " + LOG_COLLECTION + ": " + e.getMessage());
+        }
+        worker = new Thread(this::drainLoop, "request-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Queues an entry; never throws, and only waits when the policy is BLOCK. */
+    public void submit(Map<String, Object> entry) {
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(entry);
+        }
+        if (!accepted) dropped.increment();
+    }
+
+    private void drainLoop() {
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Map<String, Object> first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Fill up to batchSize, but never hold entries longer than one flush interval.
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+                    Map<String, Object> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Map<String, Object>> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            mongoTemplate.insert(new ArrayList<>(batch), LOG_COLLECTION);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            System.err.println("❌ Failed to write " + batch.size() + " request logs: " + e.getMessage());
+        }
+        try {
+            usageRollupService.record(batch);
+        } catch (Exception e) {
+            System.err.println("❌ Failed to update usage rollups for " + batch.size() + " requests: " + e.getMessage());
+        }
+    }
+
+    /** Stops the worker and writes out whatever is still queued. */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (worker != null) {
+            try {
+                // The worker notices the flag within one poll interval and flushes its batch.
+                worker.join(flushIntervalMs * 2 + TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) worker.interrupt();
+        }
+        List<Map<String, Object>> remaining = new ArrayList<>(batchSize);
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            write(remaining);
+            remaining.clear();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.model.ApiSchema;
+import com.akash_adak.backend_engine.model.IndexBuildStatus;
+import org.json.JSONObject;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and drops MongoDB indexes for a dynamic API from its schema.
+ * A property opts in with the custom keyword {@code "x-index": true}, or
+ * {@code "x-index": "unique"} for a unique index, e.g.
+ * <pre>{"properties": {"email": {"type": "string", "x-index": "unique"}}}</pre>
+ * Only indexes this class created (named {@code rq_*}) are ever dropped.
+ */
+@Service
+public class SchemaIndexManager {
+
+    static final String INDEX_KEYWORD = "x-index";
+    private static final String MANAGED_PREFIX = "rq_";
+    private static final int LOCK_STRIPES = 64;
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryCostGuard queryCostGuard;
+    private final ConcurrentHashMap<String, IndexBuildStatus> statuses = new ConcurrentHashMap<>();
+    // Syncs of one API never overlap; a fixed set of stripes does not grow with the number of API names.
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public SchemaIndexManager(MongoTemplate mongoTemplate, QueryCostGuard queryCostGuard) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryCostGuard = queryCostGuard;
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    /** Reconciles the collection's managed indexes with the schema, off the request thread. */
+    @Async
+    public void syncIndexes(ApiSchema api) {
+        String apiName = api.getName();
+        IndexBuildStatus status = new IndexBuildStatus();
+        statuses.put(apiName, status);
+
+        synchronized (locks[Math.floorMod(apiName.hashCode(), locks.length)]) {
+            try {
+                Map<String, Index> desired = desiredIndexes(api.getSchemaJson());
+                IndexOperations ops = mongoTemplate.indexOps(apiName);
+                Set<String> existing = ops.getIndexInfo().stream()
+                        .map(IndexInfo::getName)
+                        .filter(name -> name.startsWith(MANAGED_PREFIX))
+                        .collect(Collectors.toSet());
+
+                Map<String, Index> toCreate = new LinkedHashMap<>(desired);
+                toCreate.keySet().removeAll(existing);
+                Set<String> toDrop = existing.stream()
+                        .filter(name -> !desired.containsKey(name))
+                        .collect(Collectors.toSet());
+
+                status.setTotal(toCreate.size() + toDrop.size());
+                status.setState(IndexBuildStatus.State.BUILDING);
+
+                for (String name : toDrop) {
+                    status.setCurrent("drop " + name);
+                    ops.dropIndex(name);
+                    status.setCompleted(status.getCompleted() + 1);
+                }
+                for (Map.Entry<String, Index> entry : toCreate.entrySet()) {
+                    status.setCurrent("create " + entry.getKey());
+                    ops.createIndex(entry.getValue());
+                    status.setCompleted(status.getCompleted() + 1);
+                }
+                status.setCurrent(null);
+                status.setState(IndexBuildStatus.State.READY);
+            } catch (Exception e) {
+                status.setError(e.getMessage());
+                status.setState(IndexBuildStatus.State.FAILED);
+                System.err.println("❌ Index sync failed for " + apiName + ": " + e.getMessage());
+            } finally {
+                queryCostGuard.forget(apiName);
+                status.setFinishedAt(Instant.now());
+            }
+        }
+    }
+
+    public IndexBuildStatus getStatus(String apiName) {
+        return statuses.get(apiName);
+    }
+
+    public void forget(String apiName) {
+        statuses.remove(apiName);
+    }
+
+    /** Fields of the schema's top-level properties that carry the index keyword. */
+    static Map<String, Index> desiredIndexes(String schemaJson) {
+        Map<String, Index> indexes = new LinkedHashMap<>();
+        JSONObject properties = new JSONObject(schemaJson).optJSONObject("properties");
+        if (properties == null) return indexes;
+
+        for (String field : properties.keySet()) {
+            JSONObject property = properties.optJSONObject(field);
+            if (property == null || !property.has(INDEX_KEYWORD)) continue;
+
+            Object flag = property.get(INDEX_KEYWORD);
+            boolean unique = "unique".equals(flag);
+            if (!unique && !Boolean.TRUE.equals(flag)) continue;
+
+            String name = MANAGED_PREFIX + field + (unique ? "_unique" : "");
+            Index index = new Index().on(field, Sort.Direction.ASC).named(name);
+            if (unique) index.unique();
+            indexes.put(name, index);
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,211 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.model.ApiSchema;
+import com.akash_adak.backend_engine.repository.ApiSchemaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps compiled JSON-schema validators per API name so the CRUD write path
+ * does not hit MySQL and re-run {@link SchemaLoader} on every request.
+ * Entries carry a hash of the schema source; controllers that change a schema
+ * call {@link #invalidate(String)}, and if the source reloaded within a few
+ * minutes hashes the same (the schema was saved again unchanged) the old
+ * validator is reused instead of being compiled again. Deleted APIs go
+ * through {@link #remove(String)} and keep nothing. Unknown names are answered from
+ * {@link ApiNameFilter} and a short-lived negative cache, without I/O.
+ */
+@Service
+public class SchemaRegistry {
+
+    // Old entries wait this long for the reload that can reuse them; deleted APIs are never reloaded.
+    private static final Duration RETIRED_TTL = Duration.ofMinutes(5);
+    private static final long RETIRED_MAX_SIZE = 1000;
+
+    private final ApiSchemaRepository schemaRepo;
+    private final ApiNameFilter apiNameFilter;
+    private final ConcurrentHashMap<String, CompiledSchema> compiled = new ConcurrentHashMap<>();
+    // Entries dropped by invalidate(), kept until the reload so an unchanged schema skips compiling.
+    private final Cache<String, CompiledSchema> retired;
+    private final Cache<String, Boolean> unknownNames;
+    // Bumped on every invalidation so a load that raced with a schema edit is not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+    private final Timer compileTimer;
+
+    public SchemaRegistry(ApiSchemaRepository schemaRepo,
+                          ApiNameFilter apiNameFilter,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.api-names.negative-ttl:PT30S}") Duration negativeTtl,
+                          @Value("${app.api-names.negative-max-size:100000}") long negativeMaxSize) {
+        this.schemaRepo = schemaRepo;
+        this.apiNameFilter = apiNameFilter;
+        this.retired = Caffeine.newBuilder()
+                .maximumSize(RETIRED_MAX_SIZE)
+                .expireAfterWrite(RETIRED_TTL)
+                .build();
+        this.unknownNames = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtl)
+                .build();
+        this.hits = Counter.builder("reqnest.schema.cache")
+                .tag("result", "hit")
+                .description("Compiled schema lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reqnest.schema.cache")
+                .tag("result", "miss")
+                .description("Compiled schema lookups that had to load and compile")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("reqnest.schema.cache")
+                .tag("result", "unknown")
+                .description("Lookups for unregistered API names answered without a database query")
+                .register(meterRegistry);
+        this.compileTimer = Timer.builder("reqnest.schema.compile")
+                .description("Time spent parsing and compiling a JSON schema")
+                .register(meterRegistry);
+        Gauge.builder("reqnest.schema.cache.size", compiled, ConcurrentHashMap::size)
+                .description("Number of compiled schemas held in memory")
+                .register(meterRegistry);
+    }
+
+    /** Returns the compiled schema for an API, loading it on first use. */
+    public CompiledSchema resolve(String apiName) {
+        CompiledSchema cached = compiled.get(apiName);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        if (unknownNames.getIfPresent(apiName) != null || !apiNameFilter.mightContain(apiName)) {
+            rejected.increment();
+            throw notRegistered(apiName);
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        ApiSchema api = schemaRepo.findByName(apiName);
+        if (api == null) {
+            retired.invalidate(apiName);
+            if (generation.get() == loadedAt) unknownNames.put(apiName, Boolean.TRUE);
+            throw notRegistered(apiName);
+        }
+
+        CompiledSchema fresh = compile(api, retired.asMap().remove(apiName));
+        if (generation.get() != loadedAt) return fresh;
+        CompiledSchema existing = compiled.putIfAbsent(apiName, fresh);
+        return existing != null ? existing : fresh;
+    }
+
+    /** True when the API has been resolved and is held in memory. */
+    public boolean isLoaded(String apiName) {
+        return apiName != null && compiled.containsKey(apiName);
+    }
+
+    /** Forgets one API after it was created or edited. */
+    public void invalidate(String apiName) {
+        if (apiName == null) return;
+        generation.incrementAndGet();
+        CompiledSchema previous = compiled.remove(apiName);
+        if (previous != null) retired.put(apiName, previous);
+        unknownNames.invalidate(apiName);
+        apiNameFilter.add(apiName);
+    }
+
+    /** Forgets a deleted API; nothing is kept for a reload that will not come. */
+    public void remove(String apiName) {
+        if (apiName == null) return;
+        generation.incrementAndGet();
+        compiled.remove(apiName);
+        retired.invalidate(apiName);
+        unknownNames.invalidate(apiName);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        compiled.clear();
+        retired.invalidateAll();
+        unknownNames.invalidateAll();
+    }
+
+    private static ResponseStatusException notRegistered(String apiName) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "API '" + apiName + "' not registered in Platform service");
+    }
+
+    private CompiledSchema compile(ApiSchema api, CompiledSchema previous) {
+        String hash = hash(api.getSchemaJson());
+        if (previous != null && previous.getHash().equals(hash)) {
+            return new CompiledSchema(api, hash, previous.getValidator());
+        }
+        Schema validator = compileTimer.record(() -> {
+            try {
+                return loadValidator(api.getSchemaJson());
+            } catch (Exception e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Schema for API '" + api.getName() + "' is invalid: " + e.getMessage());
+            }
+        });
+        return new CompiledSchema(api, hash, validator);
+    }
+
+    static Schema loadValidator(String schemaJson) {
+        return SchemaLoader.load(new JSONObject(schemaJson));
+    }
+
+    static String hash(String schemaJson) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest((schemaJson == null ? "" : schemaJson).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** An API definition together with its ready-to-use validator. */
+    public static final class CompiledSchema {
+        private final ApiSchema api;
+        private final String hash;
+        private final Schema validator;
+
+        CompiledSchema(ApiSchema api, String hash, Schema validator) {
+            this.api = api;
+            this.hash = hash;
+            this.validator = validator;
+        }
+
+        public ApiSchema getApi() {
+            return api;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public Schema getValidator() {
+            return validator;
+        }
+    }
+}
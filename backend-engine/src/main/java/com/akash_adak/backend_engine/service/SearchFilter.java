@@ -0,0 +1,264 @@
+package com.akash_adak.backend_engine.service;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the JSON search body of {@code /data/{apiName}/search} into a Mongo query.
+ * <p>
+ * A plain {@code "field": value} pair is an equality match, exactly as before.
+ * A value that is an object of operators narrows the match:
+ * {@code $eq $ne $gt $gte $lt $lte $in $nin $exists $prefix}. Clauses can be
+ * grouped with {@code "$and": [...]} and {@code "$or": [...]}, and the top level
+ * may carry {@code "$sort": {"field": 1 | -1}} and {@code "$limit": n}.
+ * Anything outside that allow-list is rejected, so raw Mongo operators such as
+ * {@code $where} or {@code $expr} never reach the database.
+ */
+final class SearchFilter {
+
+    private static final Set<String> FIELD_OPERATORS =
+            Set.of("$eq", "$ne", "$gt", "$gte", "$lt", "$lte", "$in", "$nin", "$exists", "$prefix");
+    // Operators whose matches an ordinary ascending index can serve.
+    private static final Set<String> SARGABLE_OPERATORS =
+            Set.of("$eq", "$gt", "$gte", "$lt", "$lte", "$in", "$prefix");
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_CLAUSES = 64;
+    private static final int MAX_IN_VALUES = 1000;
+    private static final int MAX_PREFIX_LENGTH = 256;
+
+    private final Criteria criteria;
+    private final Node root;
+    private final Sort sort;
+    private final Integer limit;
+
+    private SearchFilter(Criteria criteria, Node root, Sort sort, Integer limit) {
+        this.criteria = criteria;
+        this.root = root;
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    static SearchFilter compile(Map<String, Object> body) {
+        if (body == null || body.isEmpty()) {
+            throw badRequest("Search criteria cannot be empty");
+        }
+        Compiler compiler = new Compiler();
+        Node root = new Node(false);
+        List<Criteria> clauses = new ArrayList<>();
+        Sort sort = Sort.unsorted();
+        Integer limit = null;
+
+        for (Map.Entry<String, Object> entry : body.entrySet()) {
+            String key = entry.getKey();
+            if (key.equals("$sort")) {
+                sort = compiler.sort(entry.getValue());
+            } else if (key.equals("$limit")) {
+                if (!(entry.getValue() instanceof Integer)) throw badRequest("$limit must be an integer");
+                limit = (Integer) entry.getValue();
+            } else {
+                clauses.add(compiler.clause(key, entry.getValue(), root, 0));
+            }
+        }
+
+        Criteria criteria = clauses.isEmpty() ? new Criteria()
+                : clauses.size() == 1 ? clauses.get(0)
+                : new Criteria().andOperator(clauses);
+        return new SearchFilter(criteria, root, sort, limit);
+    }
+
+    /** Builds the query; the caller still applies projection and the page-size cap. */
+    Query toQuery() {
+        return new Query(criteria).with(sort);
+    }
+
+    Integer getLimit() {
+        return limit;
+    }
+
+    Sort getSort() {
+        return sort;
+    }
+
+    /** True when every way of satisfying the filter goes through at least one indexed field. */
+    boolean isServedBy(Set<String> indexedFields) {
+        return root.servedBy(indexedFields);
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /** AND/OR tree of the fields a filter touches, used only for the cost check. */
+    private static final class Node {
+        private final boolean or;
+        private final List<Node> children = new ArrayList<>();
+        private final List<String> sargableFields = new ArrayList<>();
+
+        Node(boolean or) {
+            this.or = or;
+        }
+
+        boolean servedBy(Set<String> indexed) {
+            if (or) {
+                return !children.isEmpty() && children.stream().allMatch(child -> child.servedBy(indexed));
+            }
+            return sargableFields.stream().anyMatch(indexed::contains)
+                    || children.stream().anyMatch(child -> child.servedBy(indexed));
+        }
+    }
+
+    private static final class Compiler {
+        private int clauses;
+
+        Criteria clause(String key, Object value, Node parent, int depth) {
+            if (++clauses > MAX_CLAUSES) throw badRequest("Search filter has too many clauses");
+            if (depth > MAX_DEPTH) throw badRequest("Search filter is nested too deeply");
+
+            if (key.equals("$and") || key.equals("$or")) {
+                return logical(key, value, parent, depth);
+            }
+            if (key.startsWith("$")) throw badRequest("Unsupported operator: " + key);
+            checkFieldName(key);
+
+            if (value instanceof Map && isOperatorObject((Map<?, ?>) value)) {
+                return operators(key, (Map<?, ?>) value, parent);
+            }
+            parent.sargableFields.add(key);
+            return Criteria.where(key).is(DynamicService.convertIdIfNeeded(value));
+        }
+
+        private Criteria logical(String key, Object value, Node parent, int depth) {
+            if (!(value instanceof List) || ((List<?>) value).isEmpty()) {
+                throw badRequest(key + " must be a non-empty array of filters");
+            }
+            boolean or = key.equals("$or");
+            Node group = new Node(or);
+            parent.children.add(group);
+
+            List<Criteria> parts = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                if (!(item instanceof Map) || ((Map<?, ?>) item).isEmpty()) {
+                    throw badRequest(key + " entries must be non-empty objects");
+                }
+                // Each entry of $or is itself an implicit AND of its keys.
+                Node branch = or ? new Node(false) : group;
+                if (or) group.children.add(branch);
+                List<Criteria> branchParts = new ArrayList<>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) item).entrySet()) {
+                    branchParts.add(clause(String.valueOf(entry.getKey()), entry.getValue(), branch, depth + 1));
+                }
+                parts.add(branchParts.size() == 1 ? branchParts.get(0) : new Criteria().andOperator(branchParts));
+            }
+            return or ? new Criteria().orOperator(parts) : new Criteria().andOperator(parts);
+        }
+
+        private Criteria operators(String field, Map<?, ?> ops, Node parent) {
+            if (ops.containsKey("$eq") && ops.size() > 1) {
+                throw badRequest("$eq cannot be combined with other operators on '" + field + "'");
+            }
+            Criteria criteria = Criteria.where(field);
+            boolean sargable = false;
+            for (Map.Entry<?, ?> entry : ops.entrySet()) {
+                String op = String.valueOf(entry.getKey());
+                Object operand = entry.getValue();
+                if (!FIELD_OPERATORS.contains(op)) throw badRequest("Unsupported operator: " + op);
+                sargable |= SARGABLE_OPERATORS.contains(op);
+
+                switch (op) {
+                    case "$eq":
+                        criteria.is(operand(field, operand));
+                        break;
+                    case "$ne":
+                        criteria.ne(operand(field, operand));
+                        break;
+                    case "$gt":
+                        criteria.gt(operand(field, operand));
+                        break;
+                    case "$gte":
+                        criteria.gte(operand(field, operand));
+                        break;
+                    case "$lt":
+                        criteria.lt(operand(field, operand));
+                        break;
+                    case "$lte":
+                        criteria.lte(operand(field, operand));
+                        break;
+                    case "$in":
+                        criteria.in(list(field, op, operand));
+                        break;
+                    case "$nin":
+                        criteria.nin(list(field, op, operand));
+                        break;
+                    case "$exists":
+                        if (!(operand instanceof Boolean)) throw badRequest("$exists expects true or false");
+                        criteria.exists((Boolean) operand);
+                        break;
+                    default: // $prefix
+                        if (!(operand instanceof String) || ((String) operand).length() > MAX_PREFIX_LENGTH) {
+                            throw badRequest("$prefix expects a string of at most " + MAX_PREFIX_LENGTH + " characters");
+                        }
+                        // Anchored, literal prefix: can use an index and cannot smuggle in a regex.
+                        criteria.regex("^" + Pattern.quote((String) operand));
+                }
+            }
+            if (sargable) parent.sargableFields.add(field);
+            return criteria;
+        }
+
+        private Object operand(String field, Object operand) {
+            if (operand instanceof Map || operand instanceof List) {
+                throw badRequest("Operator values for '" + field + "' must be scalars");
+            }
+            return field.equals("_id") ? DynamicService.convertIdIfNeeded(operand) : operand;
+        }
+
+        private Collection<Object> list(String field, String op, Object operand) {
+            if (!(operand instanceof List) || ((List<?>) operand).size() > MAX_IN_VALUES) {
+                throw badRequest(op + " expects an array of at most " + MAX_IN_VALUES + " values");
+            }
+            List<Object> values = new ArrayList<>();
+            for (Object item : (List<?>) operand) values.add(operand(field, item));
+            return values;
+        }
+
+        Sort sort(Object value) {
+            if (!(value instanceof Map)) throw badRequest("$sort must be an object of field: 1 | -1");
+            List<Sort.Order> orders = new ArrayList<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                String field = String.valueOf(entry.getKey());
+                checkFieldName(field);
+                Object dir = entry.getValue();
+                if (Integer.valueOf(1).equals(dir)) orders.add(Sort.Order.asc(field));
+                else if (Integer.valueOf(-1).equals(dir)) orders.add(Sort.Order.desc(field));
+                else throw badRequest("$sort direction for '" + field + "' must be 1 or -1");
+            }
+            return Sort.by(orders);
+        }
+
+        private static boolean isOperatorObject(Map<?, ?> value) {
+            if (value.isEmpty()) return false;
+            long operators = value.keySet().stream().filter(k -> String.valueOf(k).startsWith("$")).count();
+            if (operators == 0) return false;
+            if (operators != value.size()) {
+                throw badRequest("Operator objects cannot mix operators and plain fields");
+            }
+            return true;
+        }
+
+        private static void checkFieldName(String field) {
+            if (field.isEmpty() || field.startsWith("$") || field.indexOf('\0') >= 0) {
+                throw badRequest("Invalid field name: " + field);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.akash_adak.backend_engine.service;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request stage durations rendered as a {@code Server-Timing} header.
+ * Only present when the request asked for it; see
+ * {@link com.akash_adak.backend_engine.config.ServerTimingAdvice}.
+ */
+public final class ServerTiming {
+
+    public static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+
+    /** The current request's recorder, or null when timing was not requested. */
+    static ServerTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (ServerTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    synchronized void add(String stage, long nanos) {
+        stages.merge(stage, nanos, Long::sum);
+    }
+
+    public synchronized String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, Long> stage : stages.entrySet()) {
+            append(header, stage.getKey(), stage.getValue());
+        }
+        append(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) header.append(", ");
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
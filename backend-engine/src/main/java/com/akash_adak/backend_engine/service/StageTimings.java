@@ -0,0 +1,38 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each stage of a data-API operation took, both as a
+ * {@code reqnest.data.stage} timer and, when requested, in the response's
+ * {@code Server-Timing} header.
+ */
+@Service
+public class StageTimings {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageTimings(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Ends a stage that began at {@code sinceNanos} and returns now, the start of the next one. */
+    public long lap(String stage, long sinceNanos) {
+        long now = System.nanoTime();
+        long elapsed = now - sinceNanos;
+        timers.computeIfAbsent(stage, s -> Timer.builder("reqnest.data.stage")
+                .description("Time spent in one stage of a data API operation")
+                .tag("stage", s)
+                .register(meterRegistry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) timing.add(stage, elapsed);
+        return now;
+    }
+}
@@ -0,0 +1,200 @@
+package com.akash_adak.backend_engine.service;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-API request counts at minute, hour and day granularity.
+ * {@link RequestLogWriter} feeds every batch it writes through {@link #record(List)},
+ * which folds the batch in memory and applies one {@code $inc} upsert per bucket,
+ * so charts read a handful of rollup documents instead of scanning {@code logs}.
+ */
+@Service
+public class UsageRollupService {
+
+    static final String ROLLUP_COLLECTION = "usage_rollups";
+    private static final int MAX_POINTS = 1500;
+
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES, Duration.ofHours(1), Duration.ofDays(2)),
+        HOUR(ChronoUnit.HOURS, Duration.ofDays(2), Duration.ofDays(90)),
+        DAY(ChronoUnit.DAYS, Duration.ofDays(30), null);
+
+        private final ChronoUnit unit;
+        private final Duration defaultRange;
+        private final Duration retention;
+
+        Granularity(ChronoUnit unit, Duration defaultRange, Duration retention) {
+            this.unit = unit;
+            this.defaultRange = defaultRange;
+            this.retention = retention;
+        }
+
+        Instant bucketOf(Instant time) {
+            return time.truncatedTo(unit);
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    public UsageRollupService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(ROLLUP_COLLECTION).createIndex(new Index()
+                    .on("userId", Sort.Direction.ASC)
+                    .on("apiName", Sort.Direction.ASC)
+                    .on("granularity", Sort.Direction.ASC)
+                    .on("bucket", Sort.Direction.ASC)
+                    .named("user_api_granularity_bucket"));
+            // Minute and hour rollups age out; day rollups are kept.
+            mongoTemplate.indexOps(ROLLUP_COLLECTION).createIndex(new Index()
+                    .on("expiresAt", Sort.Direction.ASC)
+                    .expire(0, TimeUnit.SECONDS)
+                    .named("expiresAt_ttl"));
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not ensure indexes on " + ROLLUP_COLLECTION + ": " + e.getMessage());
+        }
+    }
+
+    /** Adds a batch of request-log entries to the rollups. */
+    public void record(List<Map<String, Object>> entries) {
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+        for (Map<String, Object> entry : entries) {
+            Object userId = entry.get("userId");
+            Object apiName = entry.get("apiName");
+            Instant time = toInstant(entry.get("timestamp"));
+            if (userId == null || apiName == null || time == null) continue;
+
+            boolean error = entry.get("status") instanceof Number && ((Number) entry.get("status")).intValue() >= 400;
+            long latency = entry.get("responseTime") instanceof Number ? ((Number) entry.get("responseTime")).longValue() : 0L;
+
+            for (Granularity granularity : Granularity.values()) {
+                Instant start = granularity.bucketOf(time);
+                String id = userId + "|" + apiName + "|" + granularity.name().toLowerCase(Locale.ROOT) + "|" + start.toEpochMilli();
+                buckets.computeIfAbsent(id, k -> new Bucket(userId.toString(), apiName.toString(), granularity, start))
+                        .add(error, latency);
+            }
+        }
+        if (buckets.isEmpty()) return;
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ROLLUP_COLLECTION);
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket b = entry.getValue();
+            Update update = new Update()
+                    .inc("count", b.count)
+                    .inc("errors", b.errors)
+                    .inc("latencySum", b.latencySum)
+                    .max("latencyMax", b.latencyMax)
+                    .setOnInsert("userId", b.userId)
+                    .setOnInsert("apiName", b.apiName)
+                    .setOnInsert("granularity", b.granularity.name().toLowerCase(Locale.ROOT))
+                    .setOnInsert("bucket", Date.from(b.start));
+            if (b.granularity.retention != null) {
+                update.setOnInsert("expiresAt", Date.from(b.start.plus(b.granularity.retention)));
+            }
+            ops.upsert(Query.query(Criteria.where("_id").is(entry.getKey())), update);
+        }
+        ops.execute();
+    }
+
+    /** Rollup points for one API, oldest first. Missing buckets had no traffic. */
+    public List<Document> getUsage(String userId, String apiName, String granularity, Instant from, Instant to) {
+        Granularity g;
+        try {
+            g = Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be minute, hour or day");
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(g.defaultRange);
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+        if (g.unit.between(start, end) > MAX_POINTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range too large for " + granularity + " granularity; use a coarser one");
+        }
+
+        Query query = Query.query(Criteria.where("userId").is(userId)
+                        .and("apiName").is(apiName)
+                        .and("granularity").is(g.name().toLowerCase(Locale.ROOT))
+                        .and("bucket").gte(Date.from(g.bucketOf(start))).lt(Date.from(end)))
+                .with(Sort.by(Sort.Direction.ASC, "bucket"));
+        query.fields().include("bucket", "count", "errors", "latencySum", "latencyMax").exclude("_id");
+        return mongoTemplate.find(query, Document.class, ROLLUP_COLLECTION);
+    }
+
+    /**
+     * All-time {@code count}, {@code errors} and {@code latencySum} for a user,
+     * summed over the day rollups of every API; empty when nothing was recorded.
+     */
+    public Document getTotals(String userId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId).and("granularity").is("day")),
+                Aggregation.group()
+                        .sum("count").as("count")
+                        .sum("errors").as("errors")
+                        .sum("latencySum").as("latencySum"));
+        Document totals = mongoTemplate.aggregate(aggregation, ROLLUP_COLLECTION, Document.class).getUniqueMappedResult();
+        return totals != null ? totals : new Document();
+    }
+
+    private static Instant toInstant(Object timestamp) {
+        if (timestamp instanceof LocalDateTime) return ((LocalDateTime) timestamp).atZone(ZoneId.systemDefault()).toInstant();
+        if (timestamp instanceof Date) return ((Date) timestamp).toInstant();
+        if (timestamp instanceof Instant) return (Instant) timestamp;
+        return null;
+    }
+
+    private static final class Bucket {
+        private final String userId;
+        private final String apiName;
+        private final Granularity granularity;
+        private final Instant start;
+        private long count;
+        private long errors;
+        private long latencySum;
+        private long latencyMax;
+
+        Bucket(String userId, String apiName, Granularity granularity, Instant start) {
+            this.userId = userId;
+            this.apiName = apiName;
+            this.granularity = granularity;
+            this.start = start;
+        }
+
+        void add(boolean error, long latency) {
+            count++;
+            if (error) errors++;
+            latencySum += latency;
+            latencyMax = Math.max(latencyMax, latency);
+        }
+    }
+}
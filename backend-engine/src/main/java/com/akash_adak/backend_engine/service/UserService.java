@@ -8,6 +8,7 @@ import com.akash_adak.backend_engine.notification.EmailService;
 import com.akash_adak.backend_engine.repository.UserPlanRepository;
 import com.akash_adak.backend_engine.repository.UserRepository;
 import jakarta.mail.MessagingException;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -20,6 +21,7 @@ import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 
 @Service
@@ -34,6 +36,9 @@ public class UserService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private UsageRollupService usageRollupService;
+
     @Autowired
     private EmailService emailService;
 
@@ -43,6 +48,9 @@ public class UserService {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     public User createOrUpdateUser(Map<String, Object> attributes) {
         String email = (String) attributes.get("email");
         if (email == null) throw new IllegalArgumentException("Email not found in OAuth attributes");
@@ -93,14 +101,18 @@ public class UserService {
         } catch (MessagingException e) {
             throw new RuntimeException(e);
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        invalidationBus.userChanged(saved.getEmail());
+        return saved;
     }
 
     // Create or update plan for user
     public User createOrUpdatePlan(String apiKey, String tier) {
         User plan = userRepository.findByEmail(apiKey).get();
         plan.setTier(tier);
-        return userRepository.save(plan);
+        User saved = userRepository.save(plan);
+        invalidationBus.userChanged(saved.getEmail());
+        return saved;
     }
 
     // Upgrade user plan
@@ -108,58 +120,34 @@ public class UserService {
         return createOrUpdatePlan(apiKey, newTier);
     }
 
-    // Fetch user stats
+    // Fetch user stats without scanning the user's whole history: lifetime totals come from the
+    // day rollups, and the two reads on logs are bounded by the (userId, timestamp) index.
     public Map<String, Object> getUserStats(String userId) {
+        Date startOfDay = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        Document totals = usageRollupService.getTotals(userId);
+        long total = number(totals.get("count")).longValue();
+        long errors = number(totals.get("errors")).longValue();
+        long latencySum = number(totals.get("latencySum")).longValue();
+
         long callsToday = mongoTemplate.count(
-                Query.query(Criteria.where("userId").is(userId)
-                        .and("timestamp").gte(LocalDate.now().atStartOfDay())),
-                "logs"
-        );
-
-        double successRate = calculateSuccessRate(userId);
-        double avgResponseTime = calculateAvgResponse(userId);
-
-        List<Map> recentActivity = mongoTemplate.find(
-                Query.query(Criteria.where("userId").is(userId))
-                        .with(Sort.by(Sort.Direction.DESC, "timestamp"))
-                        .limit(5),
-                Map.class,
-                "logs"
-        );
+                Query.query(Criteria.where("userId").is(userId).and("timestamp").gte(startOfDay)), "logs");
+        Query recent = Query.query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp"))
+                .limit(5);
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("callsToday", callsToday);
-        stats.put("successRate", successRate);
-        stats.put("avgResponseTime", avgResponseTime);
-        stats.put("recentActivity", recentActivity);
+        stats.put("successRate", total == 0 ? 0.0 : ((total - errors) * 100.0) / total);
+        stats.put("avgResponseTime", total == 0 ? 0.0 : (double) latencySum / total);
+        stats.put("recentActivity", mongoTemplate.find(recent, Document.class, "logs"));
         return stats;
     }
 
-    // Success rate calculation
-    public double calculateSuccessRate(String userId) {
-        long total = mongoTemplate.count(Query.query(Criteria.where("userId").is(userId)), "logs");
-        if (total == 0) return 0.0;
-        long success = mongoTemplate.count(Query.query(Criteria.where("userId").is(userId).and("status").is(200)), "logs");
-        return (success * 100.0) / total;
+    private static Number number(Object value) {
+        return value instanceof Number ? (Number) value : 0;
     }
 
-    // Average response time calculation
-    public double calculateAvgResponse(String userId) {
-        List<Map> logs = mongoTemplate.find(Query.query(Criteria.where("userId").is(userId)), Map.class, "logs");
-        if (logs.isEmpty()) return 0.0;
-        double sum = 0;
-        int count = 0;
-        for (Map log : logs) {
-            Object rt = log.get("responseTime");
-            if (rt instanceof Number) {
-                sum += ((Number) rt).doubleValue();
-                count++;
-            }
-        }
-        return count == 0 ? 0.0 : sum / count;
-    }
-
-
     public Map<String, Object> getUserdetails(String email) {
         Map<String, Object> ans=new HashMap<>();
 
@@ -180,6 +168,7 @@ public class UserService {
     public void logoutUser(String token) {
         try {
             String email = jwtUtil.extractEmail(token);
+            invalidationBus.tokenRevoked(token, email);
             if (email != null) {
                 String key = "JWT_SESSION:" + email;
                 redisService.delete(key);
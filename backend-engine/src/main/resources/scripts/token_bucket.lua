@@ -0,0 +1,37 @@
+-- Greedy token bucket, one call per request.
+-- KEYS[1]  bucket key
+-- ARGV[1]  capacity (tokens)
+-- ARGV[2]  time to refill a full bucket (ms)
+-- Returns {consumed (1/0), remaining tokens, ms until the next token}
+
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+local elapsed = math.max(0, now - ts)
+tokens = math.min(capacity, tokens + elapsed * capacity / period)
+
+local consumed = 0
+local wait = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    consumed = 1
+else
+    wait = math.ceil((1 - tokens) * period / capacity)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- An untouched bucket is full again after one period, so it can expire then.
+redis.call('PEXPIRE', KEYS[1], period)
+
+return {consumed, math.floor(tokens), wait}
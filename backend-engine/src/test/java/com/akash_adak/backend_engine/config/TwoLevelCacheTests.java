@@ -0,0 +1,86 @@
+package com.akash_adak.backend_engine.config;
+
+import com.akash_adak.backend_engine.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TwoLevelCacheTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCache l1 = new ConcurrentMapCache("l1");
+    private final ConcurrentMapCache l2 = new ConcurrentMapCache("l2");
+    private final TwoLevelCache cache = new TwoLevelCache("users", l1, l2, meterRegistry);
+
+    private double count(String result) {
+        return meterRegistry.get("reqnest.cache.gets").tag("cache", "users").tag("result", result).counter().count();
+    }
+
+    @Test
+    void l2HitIsPromotedToL1() {
+        l2.put("a", "alice");
+
+        assertEquals("alice", cache.get("a", String.class));
+        assertEquals("alice", l1.get("a").get());
+        assertEquals("alice", cache.get("a", String.class));
+
+        assertEquals(1, count("l2_hit"));
+        assertEquals(1, count("l1_hit"));
+    }
+
+    @Test
+    void writesAndEvictionsReachBothLevels() {
+        cache.put("a", "alice");
+        assertEquals("alice", l1.get("a").get());
+        assertEquals("alice", l2.get("a").get());
+
+        cache.evict("a");
+        assertNull(l1.get("a"));
+        assertNull(l2.get("a"));
+        assertNull(cache.get("a"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void failingL2DegradesToL1() {
+        Cache broken = new ConcurrentMapCache("broken") {
+            @Override
+            public ValueWrapper get(Object key) {
+                throw new IllegalStateException("redis down");
+            }
+
+            @Override
+            public void put(Object key, Object value) {
+                throw new IllegalStateException("redis down");
+            }
+        };
+        TwoLevelCache degraded = new TwoLevelCache("plans", l1, broken, meterRegistry);
+
+        assertEquals("free", degraded.get("k", () -> "free"));
+        assertEquals("free", degraded.get("k", String.class));
+        assertEquals(2, meterRegistry.get("reqnest.cache.l2.errors").tag("cache", "plans").counter().count());
+    }
+
+    @Test
+    void copyingCacheHandsOutPrivateCopies() {
+        CopyingCache copying = new CopyingCache(new ConcurrentMapCache("users"),
+                RedisSerializer.java(getClass().getClassLoader()));
+        User user = new User();
+        user.setEmail("a@example.com");
+        user.setTier("free");
+        copying.put("a", user);
+
+        user.setTier("mutated before put returned");
+        User first = copying.get("a", User.class);
+        first.setTier("unsaved change");
+
+        assertEquals("free", copying.get("a", User.class).getTier());
+        assertNotSame(first, copying.get("a", User.class));
+    }
+}
@@ -0,0 +1,75 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.repository.ApiSchemaRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApiNameFilterTests {
+
+    @Test
+    void registeredNamesAlwaysPassAndFalsePositivesStayNearTarget() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) names.add("api-" + i);
+        ApiSchemaRepository repo = mock(ApiSchemaRepository.class);
+        when(repo.findAllNames()).thenReturn(names);
+
+        ApiNameFilter filter = new ApiNameFilter(repo, 10_000, 0.01);
+        filter.rebuild();
+
+        for (String name : names) assertTrue(filter.mightContain(name));
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("unknown-" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void letsEverythingThroughUntilBuiltAndKeepsAddedNames() {
+        ApiSchemaRepository repo = mock(ApiSchemaRepository.class);
+        when(repo.findAllNames()).thenThrow(new IllegalStateException("database down"));
+
+        ApiNameFilter filter = new ApiNameFilter(repo, 1_000, 0.01);
+        filter.rebuild();
+        assertTrue(filter.mightContain("anything"));
+
+        doReturn(List.of("orders")).when(repo).findAllNames();
+        filter.rebuild();
+        filter.add("invoices");
+        assertTrue(filter.mightContain("orders"));
+        assertTrue(filter.mightContain("invoices"));
+        assertFalse(filter.mightContain("definitely-not-registered"));
+    }
+
+    @Test
+    void distrustedFilterLetsEverythingThroughUntilTheDelayedRebuild() {
+        ApiSchemaRepository repo = mock(ApiSchemaRepository.class);
+        when(repo.findAllNames()).thenReturn(List.of("orders"));
+        ApiNameFilter filter = new ApiNameFilter(repo, 1_000, 0.01);
+        filter.rebuild();
+        assertFalse(filter.mightContain("missed-while-disconnected"));
+
+        filter.distrust(60_000);
+        assertTrue(filter.mightContain("missed-while-disconnected"));
+        // A check before the random delay has passed does not reload.
+        filter.rebuildIfStale();
+        verify(repo, times(1)).findAllNames();
+
+        doReturn(List.of("orders", "missed-while-disconnected")).when(repo).findAllNames();
+        filter.distrust(0);
+        filter.rebuildIfStale();
+        assertTrue(filter.mightContain("missed-while-disconnected"));
+        assertFalse(filter.mightContain("definitely-not-registered"));
+        verify(repo, times(2)).findAllNames();
+    }
+}
@@ -0,0 +1,170 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.config.TwoLevelCache;
+import com.akash_adak.backend_engine.config.TwoLevelCacheManager;
+import com.akash_adak.backend_engine.config.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationBusTests {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    private final SchemaRegistry schemaRegistry = mock(SchemaRegistry.class);
+    private final QueryCostGuard queryCostGuard = mock(QueryCostGuard.class);
+    private final RateLimiterService rateLimiterService = mock(RateLimiterService.class);
+    private final VerifiedTokenCache verifiedTokenCache = mock(VerifiedTokenCache.class);
+    private final TwoLevelCacheManager cacheManager = mock(TwoLevelCacheManager.class);
+    private final ApiNameFilter apiNameFilter = mock(ApiNameFilter.class);
+    private final ApiKeyFilter apiKeyFilter = mock(ApiKeyFilter.class);
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(cacheManager.getCache(anyString())).thenReturn(mock(TwoLevelCache.class));
+        when(cacheManager.getCacheNames()).thenReturn(List.of());
+        bus = new CacheInvalidationBus(redisTemplate, schemaRegistry, queryCostGuard, rateLimiterService,
+                verifiedTokenCache, cacheManager, apiNameFilter, apiKeyFilter, 30_000);
+    }
+
+    private void deliver(String body) {
+        bus.onMessage(new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private void redisVersion(long version) {
+        when(valueOps.get(CacheInvalidationBus.VERSION_KEY)).thenReturn(String.valueOf(version));
+    }
+
+    @Test
+    void ownEventsAreAppliedOnceAndOthersOnArrival() {
+        bus.schemaChanged("owner@example.com", "books");
+        verify(schemaRegistry, times(1)).invalidate("books");
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(CacheInvalidationBus.VERSION_KEY)),
+                eq(CacheInvalidationBus.CHANNEL), payload.capture());
+        assertTrue(payload.getValue().endsWith("|SCHEMA|owner@example.com|books"));
+
+        // Our own event coming back from Redis is not applied a second time.
+        deliver("1|" + payload.getValue());
+        verify(schemaRegistry, times(1)).invalidate("books");
+
+        deliver("2|another-pod|SCHEMA|owner@example.com|movies");
+        verify(schemaRegistry).invalidate("movies");
+        verify(schemaRegistry, never()).invalidateAll();
+
+        deliver("3|another-pod|SCHEMA|owner@example.com|movies|deleted");
+        verify(schemaRegistry).remove("movies");
+        verify(apiNameFilter).markRemoved("movies");
+    }
+
+    @Test
+    void versionGapTriggersResync() {
+        deliver("1|pod-a|USER|a@example.com");
+        deliver("2|pod-a|USER|b@example.com");
+        verify(schemaRegistry, never()).invalidateAll();
+
+        deliver("5|pod-a|USER|c@example.com");
+        verify(schemaRegistry, times(1)).invalidateAll();
+        // The filters are left to rebuild on their own schedule, not all at once from here.
+        verify(apiNameFilter).distrust(30_000);
+        verify(apiKeyFilter).distrust(30_000);
+        verify(apiNameFilter, never()).rebuild();
+        verify(apiKeyFilter, never()).rebuild();
+        verify(verifiedTokenCache).evictUser("c@example.com");
+
+        // A late, older event neither rewinds the version nor resyncs again.
+        deliver("3|pod-a|USER|d@example.com");
+        deliver("6|pod-a|USER|e@example.com");
+        verify(schemaRegistry, times(1)).invalidateAll();
+    }
+
+    @Test
+    void malformedEventsAreIgnored() {
+        deliver("not-a-version|pod-a|USER|a@example.com");
+        deliver("1|pod-a");
+        deliver("2|pod-a|TIER");
+        verify(rateLimiterService, never()).applyTierChange(any(), any());
+        verify(schemaRegistry, never()).invalidateAll();
+    }
+
+    @Test
+    void versionThatNeverArrivesIsDetectedOnTheSecondCheck() {
+        redisVersion(10);
+        bus.checkVersion(); // first check only records where Redis is
+
+        redisVersion(11);
+        bus.checkVersion(); // the event may still be in flight
+        verify(schemaRegistry, never()).invalidateAll();
+
+        bus.checkVersion(); // still not delivered: it was lost
+        verify(schemaRegistry, times(1)).invalidateAll();
+
+        bus.checkVersion(); // caught up, nothing more to do
+        verify(schemaRegistry, times(1)).invalidateAll();
+    }
+
+    @Test
+    void versionThatArrivesBetweenChecksIsNotAResync() {
+        redisVersion(10);
+        bus.checkVersion();
+
+        redisVersion(11);
+        bus.checkVersion();
+        deliver("11|pod-a|USER|a@example.com");
+        bus.checkVersion();
+
+        verify(schemaRegistry, never()).invalidateAll();
+    }
+
+    @Test
+    void reconnectAfterRedisOutageResyncs() {
+        redisVersion(3);
+        bus.checkVersion();
+
+        when(valueOps.get(CacheInvalidationBus.VERSION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        bus.checkVersion();
+        bus.checkVersion();
+        verify(schemaRegistry, never()).invalidateAll();
+
+        doReturn("7").when(valueOps).get(CacheInvalidationBus.VERSION_KEY);
+        bus.checkVersion();
+        verify(schemaRegistry, times(1)).invalidateAll();
+
+        // Version 7 counts as seen, so the next in-order event is not a gap.
+        deliver("8|pod-a|USER|a@example.com");
+        verify(schemaRegistry, times(1)).invalidateAll();
+    }
+
+    @Test
+    void publishFailureStillAppliesLocally() {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        bus.tierChanged("key-1", "premium");
+        verify(rateLimiterService).applyTierChange("key-1", "premium");
+    }
+}
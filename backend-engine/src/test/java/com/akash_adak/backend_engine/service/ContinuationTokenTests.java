@@ -0,0 +1,61 @@
+package com.akash_adak.backend_engine.service;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContinuationTokenTests {
+
+    @Test
+    void scalarIdsRoundTripAsTheirOwnType() {
+        ObjectId objectId = new ObjectId();
+        assertEquals(objectId, ContinuationToken.decode(ContinuationToken.encode(objectId)));
+        assertEquals(42, ContinuationToken.decode(ContinuationToken.encode(42)));
+        assertEquals(1L << 40, ContinuationToken.decode(ContinuationToken.encode(1L << 40)));
+        assertEquals(2.5, ContinuationToken.decode(ContinuationToken.encode(2.5)));
+        assertEquals("abc", ContinuationToken.decode(ContinuationToken.encode("abc")));
+    }
+
+    @Test
+    void otherIdTypesRoundTripThroughExtendedJson() {
+        Date date = new Date(1_700_000_000_000L);
+        assertEquals(date, ContinuationToken.decode(ContinuationToken.encode(date)));
+        assertEquals(true, ContinuationToken.decode(ContinuationToken.encode(true)));
+        Document compound = new Document("a", 1).append("b", "x");
+        assertEquals(compound, ContinuationToken.decode(ContinuationToken.encode(compound)));
+        assertEquals(new Document("a", 1), ContinuationToken.decode(ContinuationToken.encode(Map.of("a", 1))));
+    }
+
+    @Test
+    void garbageTokenIsABadRequest() {
+        assertThrows(ResponseStatusException.class, () -> ContinuationToken.decode("!!"));
+        assertThrows(ResponseStatusException.class, () -> ContinuationToken.decode("eDp5"));
+    }
+
+    @Test
+    void afterAStringIdSkipsNumbersButMatchesLaterTypes() {
+        Document criteria = ContinuationToken.after(ContinuationToken.encode("m")).getCriteriaObject();
+        @SuppressWarnings("unchecked")
+        List<Document> or = (List<Document>) criteria.get("$or");
+        assertEquals(List.of("object", "binData", "objectId", "bool", "date", "timestamp", "regex"),
+                ((Document) or.get(1).get("_id")).get("$type"));
+    }
+
+    @Test
+    void afterAlsoMatchesTypesThatSortLater() {
+        Document criteria = ContinuationToken.after(ContinuationToken.encode(7)).getCriteriaObject();
+        @SuppressWarnings("unchecked")
+        List<Document> or = (List<Document>) criteria.get("$or");
+        assertEquals(new Document("_id", new Document("$gt", 7)), or.get(0));
+        assertEquals(List.of("string", "object", "binData", "objectId", "bool", "date", "timestamp", "regex"),
+                ((Document) or.get(1).get("_id")).get("$type"));
+    }
+}
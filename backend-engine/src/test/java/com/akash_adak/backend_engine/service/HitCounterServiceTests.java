@@ -0,0 +1,98 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.model.User;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HitCounterServiceTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong written = new AtomicLong();
+
+    HitCounterServiceTests() {
+        User user = new User();
+        user.setEmail("owner@example.com");
+        when(userRepository.findByApikey(anyString())).thenReturn(Optional.of(user));
+        doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            for (Object[] row : rows) written.addAndGet((Long) row[2]);
+            return new int[rows.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    private HitCounterService newService() {
+        return new HitCounterService(jdbcTemplate, userRepository, new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    void noHitIsLostWhileFlushesRetireIdleCounters() throws Exception {
+        HitCounterService service = newService();
+        int threads = 8;
+        int perThread = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread flusher = new Thread(() -> {
+            while (!done.get()) service.flush();
+        });
+        flusher.start();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Few hits per key, so keys keep going idle and being retired mid-increment.
+                for (int i = 0; i < perThread; i++) service.increment("key-" + (i % 50), "api-" + id);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        done.set(true);
+        flusher.join();
+        service.flush();
+
+        assertEquals((long) threads * perThread, written.get());
+    }
+
+    @Test
+    void ownerLookupFailureKeepsTheHits() {
+        HitCounterService service = newService();
+        for (int i = 0; i < 5; i++) service.increment("key-1", "books");
+
+        when(userRepository.findByApikey("key-1")).thenThrow(new IllegalStateException("database down"));
+        service.flush();
+        assertEquals(0, written.get());
+
+        doAnswer(invocation -> {
+            User user = new User();
+            user.setEmail("owner@example.com");
+            return Optional.of(user);
+        }).when(userRepository).findByApikey("key-1");
+        service.flush();
+        assertEquals(5, written.get());
+    }
+}
@@ -0,0 +1,41 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimitStoreTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final LocalRateLimitStore store =
+            new LocalRateLimitStore(1000, Duration.ofMinutes(10), new SimpleMeterRegistry(), nanos::get);
+
+    @Test
+    void drainedBucketIsNotEvictedBeforeItWouldHaveRefilled() {
+        for (int i = 0; i < 30; i++) assertTrue(store.tryConsume("key-1", "free").isConsumed());
+        assertFalse(store.tryConsume("key-1", "free").isConsumed());
+
+        // Well past any idle timeout, but short of a full refill: still drained.
+        nanos.addAndGet(Duration.ofHours(6).toNanos());
+        assertFalse(store.tryConsume("key-1", "free").isConsumed());
+
+        nanos.addAndGet(RateLimiterService.REFILL_PERIOD.plusMinutes(10).toNanos());
+        RateLimitResult fresh = store.tryConsume("key-1", "free");
+        assertTrue(fresh.isConsumed());
+        assertEquals(29, fresh.getRemainingTokens());
+    }
+
+    @Test
+    void untouchedFullBucketExpiresAfterTheGracePeriod() {
+        store.tryConsume("key-2", "premium");
+        // One token short of full, so it lives for one token's refill time plus the grace.
+        nanos.addAndGet(RateLimiterService.REFILL_PERIOD.toNanos() / 100 + Duration.ofMinutes(11).toNanos());
+        assertEquals(99, store.tryConsume("key-2", "premium").getRemainingTokens());
+    }
+}
@@ -0,0 +1,61 @@
+package com.akash_adak.backend_engine.service;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryCostGuardTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private QueryCostGuard guard(long documents) {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(IndexField.create("_id", Sort.Direction.ASC)), "_id_", false, false, null),
+                new IndexInfo(List.of(IndexField.create("email", Sort.Direction.ASC)), "email_1", false, false, null)));
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(collection.estimatedDocumentCount()).thenReturn(documents);
+        when(mongoTemplate.indexOps("users")).thenReturn(indexOps);
+        when(mongoTemplate.getCollection("users")).thenReturn(collection);
+        return new QueryCostGuard(mongoTemplate, 10_000, 60_000);
+    }
+
+    @Test
+    void largeCollectionsNeedAnIndexedFilterAndSort() {
+        QueryCostGuard guard = guard(1_000_000);
+
+        assertDoesNotThrow(() -> guard.check("users", SearchFilter.compile(Map.of("email", "a@b.c"))));
+        assertThrows(ResponseStatusException.class,
+                () -> guard.check("users", SearchFilter.compile(Map.of("age", 30))));
+        assertThrows(ResponseStatusException.class, () -> guard.check("users",
+                SearchFilter.compile(Map.of("email", "a@b.c", "$sort", Map.of("age", 1)))));
+        assertDoesNotThrow(() -> guard.check("users",
+                SearchFilter.compile(Map.of("email", "a@b.c", "$sort", Map.of("_id", -1)))));
+    }
+
+    @Test
+    void smallCollectionsAreNotGuardedAndStatsAreCached() {
+        QueryCostGuard guard = guard(100);
+        for (int i = 0; i < 5; i++) {
+            guard.check("users", SearchFilter.compile(Map.of("age", 30, "$sort", Map.of("age", 1))));
+        }
+        verify(mongoTemplate, times(1)).indexOps("users");
+    }
+}
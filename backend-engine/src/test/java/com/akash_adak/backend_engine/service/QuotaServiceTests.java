@@ -0,0 +1,74 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuotaServiceTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final QuotaService quota =
+            new QuotaService(Duration.ofMinutes(60), 12, 1000, new SimpleMeterRegistry(), now::get);
+
+    @Test
+    void limitComesFromTierAndIsPerApi() {
+        for (int i = 0; i < 10; i++) assertTrue(quota.allowRequest("u", "books", "free"));
+        assertFalse(quota.allowRequest("u", "books", "free"));
+        assertTrue(quota.allowRequest("u", "movies", "free"));
+        assertEquals(30, quota.remainingHits("u", "books", "premium"));
+    }
+
+    @Test
+    void hitsSlideOutOfTheWindow() {
+        for (int i = 0; i < 6; i++) quota.allowRequest("u", "books", "free");
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        for (int i = 0; i < 4; i++) quota.allowRequest("u", "books", "free");
+        assertFalse(quota.allowRequest("u", "books", "free"));
+
+        // The first 6 hits expire after a full window; the later 4 are still counted.
+        now.addAndGet(Duration.ofMinutes(31).toMillis());
+        assertEquals(6, quota.remainingHits("u", "books", "free"));
+
+        now.addAndGet(Duration.ofHours(2).toMillis());
+        assertEquals(10, quota.remainingHits("u", "books", "free"));
+    }
+
+    @Test
+    void quotaStaysBelowTheDailyBucket() {
+        for (PlanTier tier : PlanTier.values()) {
+            assertTrue(tier.perApiQuota < tier.dailyRequests, tier.name());
+        }
+    }
+
+    @Test
+    void releaseGivesBackTheSlot() {
+        for (int i = 0; i < 10; i++) quota.allowRequest("u", "books", "free");
+        quota.release("u", "books");
+        assertTrue(quota.allowRequest("u", "books", "free"));
+        assertFalse(quota.allowRequest("u", "books", "free"));
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheLimit() throws InterruptedException {
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 10_000; i++) {
+            pool.execute(() -> {
+                if (quota.allowRequest("u", "books", "enterprise")) allowed.incrementAndGet();
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(300, allowed.get());
+    }
+}
@@ -0,0 +1,66 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.model.UserPlan;
+import com.akash_adak.backend_engine.repository.UserPlanRepository;
+import com.akash_adak.backend_engine.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimiterServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserPlanRepository planRepository = mock(UserPlanRepository.class);
+
+    private RateLimiterService newService() {
+        UserPlan plan = new UserPlan();
+        plan.setApiKey("known");
+        plan.setTier("premium");
+        when(userRepository.findAllApikeys()).thenReturn(List.of());
+        when(planRepository.findAllApiKeys()).thenReturn(List.of("known"));
+        when(planRepository.findById("known")).thenReturn(Optional.of(plan));
+
+        ApiKeyFilter filter = new ApiKeyFilter(userRepository, planRepository, 1000, 0.001);
+        filter.rebuild();
+        LocalRateLimitStore store = new LocalRateLimitStore(1000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        return new RateLimiterService(planRepository, userRepository, filter, store, 60_000, 1000);
+    }
+
+    @Test
+    void unknownKeysAreRejectedWithoutQueries() {
+        RateLimiterService service = newService();
+
+        for (int i = 0; i < 1000; i++) {
+            assertSame(RateLimitResult.UNKNOWN_KEY, service.tryConsume("garbage-" + i));
+        }
+        // At a 0.1% false-positive rate, at most a handful of keys may reach MySQL.
+        verify(planRepository, atMost(10)).findById(anyString());
+        verify(userRepository, atMost(10)).findByApikey(anyString());
+    }
+
+    @Test
+    void issuedKeysPassOnceAdded() {
+        RateLimiterService service = newService();
+        assertTrue(service.tryConsume("known").isConsumed());
+
+        clearInvocations(planRepository, userRepository);
+        assertSame(RateLimitResult.UNKNOWN_KEY, service.tryConsume("fresh"));
+        verify(planRepository, never()).findById(anyString());
+
+        service.applyTierChange("fresh", "FREE");
+        assertTrue(service.tryConsume("fresh").isConsumed());
+    }
+}
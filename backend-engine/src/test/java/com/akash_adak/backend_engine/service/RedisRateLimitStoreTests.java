@@ -0,0 +1,117 @@
+package com.akash_adak.backend_engine.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisRateLimitStoreTests {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) connectionFactory.destroy();
+        if (redisServer != null) redisServer.stop();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushDb();
+    }
+
+    private static RedisRateLimitStore newStore() {
+        return new RedisRateLimitStore(redisTemplate, 1000, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void allowsUpToTierCapacityThenRejects() {
+        RedisRateLimitStore store = newStore();
+
+        for (int i = 0; i < 30; i++) {
+            RateLimitResult result = store.tryConsume("key-1", "free");
+            assertTrue(result.isConsumed(), "request " + i + " should pass");
+            assertEquals(29 - i, result.getRemainingTokens());
+        }
+
+        RateLimitResult rejected = store.tryConsume("key-1", "free");
+        assertFalse(rejected.isConsumed());
+        assertTrue(rejected.getNanosToWaitForRefill() > 0);
+    }
+
+    @Test
+    void replicasShareOneQuota() {
+        RedisRateLimitStore podA = newStore();
+        RedisRateLimitStore podB = newStore();
+
+        int allowed = 0;
+        for (int i = 0; i < 40; i++) {
+            RedisRateLimitStore pod = i % 2 == 0 ? podA : podB;
+            if (pod.tryConsume("key-2", "free").isConsumed()) allowed++;
+        }
+        assertEquals(30, allowed);
+    }
+
+    @Test
+    void tierChangeStartsFromAFullBucket() {
+        RedisRateLimitStore store = newStore();
+        for (int i = 0; i < 30; i++) store.tryConsume("key-3", "free");
+        assertFalse(store.tryConsume("key-3", "free").isConsumed());
+
+        RateLimitResult upgraded = store.tryConsume("key-3", "premium");
+        assertTrue(upgraded.isConsumed());
+        assertEquals(99, upgraded.getRemainingTokens());
+    }
+
+    @Test
+    void concurrentChecksNeverOverspend() throws Exception {
+        RedisRateLimitStore store = newStore();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> calls = new ArrayList<>();
+            for (int i = 0; i < 200; i++) calls.add(() -> store.tryConsume("key-4", "premium").isConsumed());
+
+            int allowed = 0;
+            for (Future<Boolean> f : pool.invokeAll(calls)) if (f.get()) allowed++;
+            assertEquals(100, allowed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
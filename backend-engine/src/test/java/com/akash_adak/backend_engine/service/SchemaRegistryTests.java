@@ -0,0 +1,76 @@
+package com.akash_adak.backend_engine.service;
+
+import com.akash_adak.backend_engine.model.ApiSchema;
+import com.akash_adak.backend_engine.repository.ApiSchemaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SchemaRegistryTests {
+
+    private static final String BOOK = "{\"type\":\"object\",\"properties\":{\"title\":{\"type\":\"string\"}}}";
+
+    private final ApiSchemaRepository repo = mock(ApiSchemaRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SchemaRegistry registry;
+
+    SchemaRegistryTests() {
+        ApiNameFilter filter = mock(ApiNameFilter.class);
+        when(filter.mightContain(anyString())).thenReturn(true);
+        registry = new SchemaRegistry(repo, filter, meterRegistry, Duration.ofSeconds(30), 1000);
+    }
+
+    private void stored(String schemaJson) {
+        ApiSchema api = new ApiSchema();
+        api.setName("books");
+        api.setSchemaJson(schemaJson);
+        when(repo.findByName("books")).thenReturn(api);
+    }
+
+    @Test
+    void unchangedSchemaReusesTheValidatorAfterInvalidation() {
+        stored(BOOK);
+        SchemaRegistry.CompiledSchema first = registry.resolve("books");
+
+        stored(BOOK);
+        registry.invalidate("books");
+        SchemaRegistry.CompiledSchema second = registry.resolve("books");
+
+        assertNotSame(first, second);
+        assertSame(first.getValidator(), second.getValidator());
+        assertEquals(1, meterRegistry.get("reqnest.schema.compile").timer().count());
+    }
+
+    @Test
+    void changedSchemaIsCompiledAgain() {
+        stored(BOOK);
+        SchemaRegistry.CompiledSchema first = registry.resolve("books");
+
+        stored(BOOK.replace("string", "number"));
+        registry.invalidate("books");
+        SchemaRegistry.CompiledSchema second = registry.resolve("books");
+
+        assertNotSame(first.getValidator(), second.getValidator());
+        assertEquals(2, meterRegistry.get("reqnest.schema.compile").timer().count());
+    }
+
+    @Test
+    void removedApiKeepsNothingToReuse() {
+        stored(BOOK);
+        registry.resolve("books");
+
+        registry.remove("books");
+        stored(BOOK);
+        registry.resolve("books");
+
+        assertEquals(2, meterRegistry.get("reqnest.schema.compile").timer().count());
+    }
+}
@@ -31,11 +31,36 @@ export default class ReqNestSDK {
       create: (data) =>
         this.client.post(`/data/${name}`, data).then((r) => r.data),
 
-      list: () =>
-        this.client.get(`/data/${name}`).then((r) => r.data),
+      // docs: array of documents; returns { inserted, failed, results: [...] }
+      bulkCreate: (docs) =>
+        this.client.post(`/data/${name}/bulk`, docs).then((r) => r.data),
 
-      search: (criteria) =>
-        this.client.post(`/data/${name}/search`, criteria).then((r) => r.data),
+      // Returns every document, as before paging: follows X-Continuation-Token page by page.
+      // options: { limit, fields } — limit is the page size per request, not a total;
+      // fields is "a,b" to include or "-a,-b" to exclude. Use listPage for one page at a time.
+      list: async (options = {}) => {
+        const items = [];
+        let after = options.after;
+        do {
+          const page = await this.schema(name).listPage({ ...options, after });
+          items.push(...page.items);
+          after = page.nextToken;
+        } while (after);
+        return items;
+      },
+
+      // options: { limit, after, fields }; returns { items, nextToken } —
+      // pass nextToken as `after` for the following page; it is null on the last page.
+      listPage: (options = {}) =>
+        this.client.get(`/data/${name}`, { params: options }).then((r) => ({
+          items: r.data,
+          nextToken: r.headers["x-continuation-token"] || null,
+        })),
+
+      search: (criteria, options = {}) =>
+        this.client
+          .post(`/data/${name}/search`, criteria, { params: options })
+          .then((r) => r.data),
 
       update: (data, updateAll = false, field = "id") =>
         this.client